@@ -0,0 +1,73 @@
+package com.example.helpdesk.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests handled at once. With platform threads Tomcat's
+ * worker pool is that cap; with virtual threads every connection gets a thread,
+ * and without this filter a burst would pile up on Hikari's connection queue and
+ * fail there with timeouts after holding sockets for the full connection timeout.
+ * <p>
+ * Requests wait briefly (FIFO) for a permit and are otherwise rejected with
+ * {@code 503} and {@code Retry-After}. The permit is released when the request
+ * thread returns, so streamed responses (NDJSON, exports, downloads, SSE) only
+ * hold it until they switch to async processing.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration maxWait) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Rejected {} {}: concurrency limit reached", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Static resources never touch the database
+        String path = request.getServletPath();
+        return path.startsWith("/css/") || path.startsWith("/js/") || path.startsWith("/images/")
+                || path.startsWith("/webjars/") || path.equals("/favicon.ico");
+    }
+
+    int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Component
@@ -101,7 +102,6 @@ public class DataInitializer implements CommandLineRunner {
                     .createdBy(creator)
                     .department(itDept)
                     .build();
-            ticketRepository.save(ticket1);
 
             Ticket ticket2 = Ticket.builder()
                     .title("Cannot access email account")
@@ -113,7 +113,6 @@ public class DataInitializer implements CommandLineRunner {
                     .assignedTo(assignee)
                     .department(itDept)
                     .build();
-            ticketRepository.save(ticket2);
 
             Ticket ticket3 = Ticket.builder()
                     .title("Software installation request")
@@ -124,7 +123,6 @@ public class DataInitializer implements CommandLineRunner {
                     .createdBy(creator)
                     .department(itDept)
                     .build();
-            ticketRepository.save(ticket3);
 
             Ticket ticket4 = Ticket.builder()
                     .title("Network connectivity issues")
@@ -135,7 +133,6 @@ public class DataInitializer implements CommandLineRunner {
                     .createdBy(creator)
                     .department(itDept)
                     .build();
-            ticketRepository.save(ticket4);
 
             Ticket ticket5 = Ticket.builder()
                     .title("Printer not working")
@@ -147,7 +144,9 @@ public class DataInitializer implements CommandLineRunner {
                     .assignedTo(assignee)
                     .department(itDept)
                     .build();
-            ticketRepository.save(ticket5);
+
+            // One batched insert instead of a round trip per ticket
+            ticketRepository.saveAll(List.of(ticket1, ticket2, ticket3, ticket4, ticket5));
         }
     }
 
@@ -1,5 +1,6 @@
 package com.example.helpdesk.config;
 
+import com.example.helpdesk.security.TtlUserCache;
 import com.example.helpdesk.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +22,7 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final TtlUserCache userCache;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -32,6 +34,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserCache(userCache);
         return authProvider;
     }
 
@@ -55,6 +58,7 @@ public class SecurityConfig {
                         // All authenticated users - access tickets (ownership check done in controller)
                         .requestMatchers("/tickets/**", "/dashboard/**").hasAnyRole("USER", "AGENT", "ADMIN")
                         // API endpoints
+                        .requestMatchers("/api/tickets/*/claim").hasAnyRole("AGENT", "ADMIN")
                         .requestMatchers("/api/**").hasAnyRole("USER", "AGENT", "ADMIN")
                         // All other requests need authentication
                         .anyRequest().authenticated()
@@ -0,0 +1,32 @@
+package com.example.helpdesk.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for the {@code virtual} profile ({@code spring.threads.virtual.enabled=true}).
+ * Spring Boot itself moves Tomcat, {@code @Async}/streamed responses and {@code @Scheduled}
+ * onto virtual threads; this adds the request cap that Tomcat's thread pool used to provide.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${helpdesk.web.max-concurrent-requests:100}") int maxConcurrentRequests,
+            @Value("${helpdesk.web.max-queue-wait:PT2S}") Duration maxQueueWait) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, maxQueueWait));
+        // Ahead of Spring Security, whose session and user lookups also need connections
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
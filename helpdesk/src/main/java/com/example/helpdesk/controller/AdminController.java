@@ -7,6 +7,8 @@ import com.example.helpdesk.enums.UserStatus;
 import com.example.helpdesk.repository.RoleRepository;
 import com.example.helpdesk.repository.TicketRepository;
 import com.example.helpdesk.repository.UserRepository;
+import com.example.helpdesk.security.TtlUserCache;
+import com.example.helpdesk.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -33,6 +35,8 @@ public class AdminController {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final TicketRepository ticketRepository;
+    private final TtlUserCache userCache;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping("/users")
     public String listUsers(@RequestParam(defaultValue = "0") int page,
@@ -40,10 +44,8 @@ public class AdminController {
                            Model model) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
         Page<User> userPage = userRepository.findAll(pageable);
-        List<Role> roles = roleRepository.findAll();
-
         model.addAttribute("users", userPage.getContent());
-        model.addAttribute("roles", roles);
+        model.addAttribute("roles", referenceData.getRoleNames());
         model.addAttribute("statuses", UserStatus.values());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", userPage.getTotalPages());
@@ -67,6 +69,8 @@ public class AdminController {
             roles.add(role);
             user.setRoles(roles);
             userRepository.save(user);
+            userCache.removeUserFromCache(user.getUsername());
+            referenceData.invalidateAgents();
 
             redirectAttributes.addFlashAttribute("success",
                     "User " + user.getUsername() + " role updated to " + roleName);
@@ -86,6 +90,8 @@ public class AdminController {
 
             user.setStatus(status);
             userRepository.save(user);
+            userCache.removeUserFromCache(user.getUsername());
+            referenceData.invalidateAgents();
 
             redirectAttributes.addFlashAttribute("success",
                     "User " + user.getUsername() + " status updated to " + status);
@@ -121,6 +127,8 @@ public class AdminController {
             String username = user.getUsername();
             int ticketCount = user.getCreatedTickets().size();
             userRepository.delete(user);
+            userCache.removeUserFromCache(username);
+            referenceData.invalidateAgents();
 
             redirectAttributes.addFlashAttribute("success",
                     "User " + username + " and their " + ticketCount + " ticket(s) deleted successfully");
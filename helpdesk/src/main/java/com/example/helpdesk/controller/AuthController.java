@@ -1,7 +1,7 @@
 package com.example.helpdesk.controller;
 
 import com.example.helpdesk.dto.UserDto;
-import com.example.helpdesk.repository.DepartmentRepository;
+import com.example.helpdesk.service.ReferenceDataCache;
 import com.example.helpdesk.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +20,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AuthController {
 
     private final UserService userService;
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping("/login")
     public String loginPage() {
@@ -30,7 +30,7 @@ public class AuthController {
     @GetMapping("/register")
     public String registerPage(Model model) {
         model.addAttribute("userDto", new UserDto());
-        model.addAttribute("departments", departmentRepository.findAll());
+        model.addAttribute("departments", referenceData.getDepartments());
         return "auth/register";
     }
 
@@ -48,7 +48,7 @@ public class AuthController {
         }
 
         if (result.hasErrors()) {
-            model.addAttribute("departments", departmentRepository.findAll());
+            model.addAttribute("departments", referenceData.getDepartments());
             return "auth/register";
         }
 
@@ -1,12 +1,11 @@
 package com.example.helpdesk.controller;
 
 import com.example.helpdesk.dto.DashboardStatsDto;
-import com.example.helpdesk.entity.User;
+import com.example.helpdesk.security.CurrentUser;
+import com.example.helpdesk.security.HelpdeskUserDetails;
 import com.example.helpdesk.service.DashboardService;
 import com.example.helpdesk.service.TicketService;
-import com.example.helpdesk.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,31 +18,24 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class DashboardController {
 
+    private static final int RECENT_TICKETS_LIMIT = 10;
+
     private final DashboardService dashboardService;
     private final TicketService ticketService;
-    private final UserService userService;
 
     @GetMapping
-    public String dashboard(Model model, Authentication authentication) {
+    public String dashboard(Model model, @CurrentUser HelpdeskUserDetails currentUser) {
         try {
-            String username = authentication.getName();
-
-            boolean isAdmin = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isAgent = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-            boolean isUser = !isAdmin && !isAgent;
+            boolean isAdmin = currentUser.isAdmin();
+            boolean isUser = currentUser.isRegularUser();
 
-            DashboardStatsDto stats = dashboardService.getDashboardStats(username, isUser);
+            DashboardStatsDto stats = dashboardService.getDashboardStats(currentUser.getId(), isUser);
             model.addAttribute("stats", stats);
 
             try {
-                if (isAdmin || isAgent) {
-                    model.addAttribute("recentTickets", ticketService.getAllTickets());
-                } else {
-                    User user = userService.getUserByUsername(username);
-                    model.addAttribute("recentTickets", ticketService.getTicketsByUser(user.getId()));
-                }
+                Long creatorId = isUser ? currentUser.getId() : null;
+                model.addAttribute("recentTickets",
+                        ticketService.getTicketsAfterCursor(creatorId, null, RECENT_TICKETS_LIMIT).getItems());
             } catch (Exception e) {
                 model.addAttribute("recentTickets", Collections.emptyList());
             }
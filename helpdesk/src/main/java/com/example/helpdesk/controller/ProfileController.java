@@ -3,6 +3,8 @@ package com.example.helpdesk.controller;
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.repository.DepartmentRepository;
 import com.example.helpdesk.repository.UserRepository;
+import com.example.helpdesk.security.TtlUserCache;
+import com.example.helpdesk.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,6 +21,8 @@ public class ProfileController {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TtlUserCache userCache;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping
     public String viewProfile(Model model, Authentication authentication) {
@@ -27,7 +31,7 @@ public class ProfileController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         model.addAttribute("user", user);
-        model.addAttribute("departments", departmentRepository.findAll());
+        model.addAttribute("departments", referenceData.getDepartments());
         return "profile/view";
     }
 
@@ -63,6 +67,10 @@ public class ProfileController {
             }
 
             userRepository.save(user);
+            // Cached principal carries the department id
+            userCache.removeUserFromCache(username);
+            // Agent pick-lists show full names
+            referenceData.invalidateAgents();
             redirectAttributes.addFlashAttribute("success", "Profile updated successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to update profile: " + e.getMessage());
@@ -101,6 +109,7 @@ public class ProfileController {
 
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            userCache.removeUserFromCache(username);
             redirectAttributes.addFlashAttribute("success", "Password changed successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to change password: " + e.getMessage());
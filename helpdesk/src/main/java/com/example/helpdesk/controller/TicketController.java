@@ -1,14 +1,17 @@
 package com.example.helpdesk.controller;
 
+import com.example.helpdesk.dto.CursorPageDto;
+import com.example.helpdesk.dto.TicketCommentDto;
 import com.example.helpdesk.dto.TicketCreateDto;
 import com.example.helpdesk.dto.TicketDto;
 import com.example.helpdesk.dto.TicketUpdateDto;
-import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.TicketCategory;
 import com.example.helpdesk.enums.TicketPriority;
 import com.example.helpdesk.enums.TicketStatus;
-import com.example.helpdesk.repository.DepartmentRepository;
+import com.example.helpdesk.security.CurrentUser;
+import com.example.helpdesk.security.HelpdeskUserDetails;
 import com.example.helpdesk.service.TicketCommentService;
+import com.example.helpdesk.service.ReferenceDataCache;
 import com.example.helpdesk.service.TicketService;
 import com.example.helpdesk.service.UserService;
 import jakarta.validation.Valid;
@@ -17,13 +20,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping("/tickets")
 @RequiredArgsConstructor
@@ -32,27 +36,23 @@ public class TicketController {
     private final TicketService ticketService;
     private final TicketCommentService commentService;
     private final UserService userService;
-    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache referenceData;
 
     @GetMapping
     public String listTickets(@RequestParam(defaultValue = "0") int page,
                              @RequestParam(defaultValue = "10") int size,
                              Model model,
-                             Authentication authentication) {
-        String username = authentication.getName();
+                             @CurrentUser HelpdeskUserDetails currentUser) {
+        String username = currentUser.getUsername();
 
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-        boolean isUser = !isAdmin && !isAgent;
+        boolean isAdmin = currentUser.isAdmin();
+        boolean isUser = currentUser.isRegularUser();
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<TicketDto> ticketPage;
 
         if (isUser) {
-            User user = userService.getUserByUsername(username);
-            ticketPage = ticketService.getTicketsByUserPaginated(user.getId(), pageable);
+            ticketPage = ticketService.getTicketsByUserPaginated(currentUser.getId(), pageable);
         } else {
             ticketPage = ticketService.getAllTicketsPaginated(pageable);
         }
@@ -72,26 +72,25 @@ public class TicketController {
         model.addAttribute("ticketDto", new TicketCreateDto());
         model.addAttribute("priorities", TicketPriority.values());
         model.addAttribute("categories", TicketCategory.values());
-        model.addAttribute("departments", departmentRepository.findAll());
+        model.addAttribute("departments", referenceData.getDepartments());
         return "ticket/create";
     }
 
     @PostMapping("/create")
     public String createTicket(@Valid @ModelAttribute("ticketDto") TicketCreateDto ticketDto,
                               BindingResult result,
-                              Authentication authentication,
+                              @CurrentUser HelpdeskUserDetails currentUser,
                               Model model,
                               RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
             model.addAttribute("priorities", TicketPriority.values());
             model.addAttribute("categories", TicketCategory.values());
-            model.addAttribute("departments", departmentRepository.findAll());
+            model.addAttribute("departments", referenceData.getDepartments());
             return "ticket/create";
         }
 
         try {
-            String username = authentication.getName();
-            ticketService.createTicket(ticketDto, username);
+            ticketService.createTicket(ticketDto, currentUser.getId());
             redirectAttributes.addFlashAttribute("success", "Ticket created successfully!");
             return "redirect:/tickets";
         } catch (Exception e) {
@@ -101,19 +100,20 @@ public class TicketController {
     }
 
     @GetMapping("/{id}")
-    public String viewTicket(@PathVariable Long id, Model model, Authentication authentication) {
+    public String viewTicket(@PathVariable Long id, Model model, @CurrentUser HelpdeskUserDetails currentUser) {
         var ticket = ticketService.getTicketById(id);
-        String username = authentication.getName();
+        String username = currentUser.getUsername();
 
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
+        boolean isAdmin = currentUser.isAdmin();
+        boolean isAgent = currentUser.isAgent();
         boolean isOwner = ticket.getCreatedByUsername() != null &&
                          ticket.getCreatedByUsername().equals(username);
 
         model.addAttribute("ticket", ticket);
-        model.addAttribute("comments", commentService.getCommentsByTicketId(id));
+        // Newest comments only; older ones are fetched from the REST API on demand
+        CursorPageDto<TicketCommentDto> comments = commentService.getCommentPage(id, null, TicketCommentService.DEFAULT_PAGE_SIZE);
+        model.addAttribute("comments", comments.getItems());
+        model.addAttribute("olderCommentsCursor", comments.getNextCursor());
         model.addAttribute("statuses", TicketStatus.values());
         model.addAttribute("currentUsername", username);
         model.addAttribute("isOwner", isOwner);
@@ -125,12 +125,11 @@ public class TicketController {
     }
 
     @GetMapping("/{id}/edit")
-    public String editTicketForm(@PathVariable Long id, Model model, Authentication authentication) {
+    public String editTicketForm(@PathVariable Long id, Model model, @CurrentUser HelpdeskUserDetails currentUser) {
         var ticketDto = ticketService.getTicketById(id);
-        String username = authentication.getName();
+        String username = currentUser.getUsername();
 
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = ticketDto.getCreatedByUsername() != null &&
                          ticketDto.getCreatedByUsername().equals(username);
 
@@ -146,26 +145,16 @@ public class TicketController {
         updateDto.setStatus(ticketDto.getStatus());
         updateDto.setPriority(ticketDto.getPriority());
         updateDto.setCategory(ticketDto.getCategory());
-        updateDto.setAssignedToId(ticketDto.getAssignedToUsername() != null ?
-            userService.getAllUsers().stream()
-                .filter(u -> u.getUsername().equals(ticketDto.getAssignedToUsername()))
-                .findFirst()
-                .map(u -> u.getId())
-                .orElse(null) : null);
-        updateDto.setDepartmentId(ticketDto.getDepartmentName() != null ?
-            departmentRepository.findAll().stream()
-                .filter(d -> d.getName().equals(ticketDto.getDepartmentName()))
-                .findFirst()
-                .map(d -> d.getId())
-                .orElse(null) : null);
+        updateDto.setAssignedToId(ticketDto.getAssignedToId());
+        updateDto.setDepartmentId(ticketDto.getDepartmentId());
 
         model.addAttribute("ticket", ticketDto); // For display purposes
         model.addAttribute("ticketDto", updateDto); // For form binding
         model.addAttribute("statuses", TicketStatus.values());
         model.addAttribute("priorities", TicketPriority.values());
         model.addAttribute("categories", TicketCategory.values());
-        model.addAttribute("departments", departmentRepository.findAll());
-        model.addAttribute("users", userService.getAllUsers());
+        model.addAttribute("departments", referenceData.getDepartments());
+        model.addAttribute("currentAssignee", userService.getAgentOption(updateDto.getAssignedToId()));
         return "ticket/edit";
     }
 
@@ -174,13 +163,12 @@ public class TicketController {
                               @Valid @ModelAttribute("ticketDto") TicketUpdateDto ticketDto,
                               BindingResult result,
                               Model model,
-                              Authentication authentication,
+                              @CurrentUser HelpdeskUserDetails currentUser,
                               RedirectAttributes redirectAttributes) {
         // Check ownership
         var existingTicket = ticketService.getTicketById(id);
-        String username = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        String username = currentUser.getUsername();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = existingTicket.getCreatedByUsername() != null &&
                          existingTicket.getCreatedByUsername().equals(username);
 
@@ -193,8 +181,8 @@ public class TicketController {
             model.addAttribute("statuses", TicketStatus.values());
             model.addAttribute("priorities", TicketPriority.values());
             model.addAttribute("categories", TicketCategory.values());
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("users", userService.getAllUsers());
+            model.addAttribute("departments", referenceData.getDepartments());
+            model.addAttribute("currentAssignee", userService.getAgentOption(ticketDto.getAssignedToId()));
             return "ticket/edit";
         }
 
@@ -210,13 +198,12 @@ public class TicketController {
 
     @PostMapping("/{id}/delete")
     public String deleteTicket(@PathVariable Long id,
-                              Authentication authentication,
+                              @CurrentUser HelpdeskUserDetails currentUser,
                               RedirectAttributes redirectAttributes) {
         // Check ownership
         var ticket = ticketService.getTicketById(id);
-        String username = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        String username = currentUser.getUsername();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = ticket.getCreatedByUsername() != null &&
                          ticket.getCreatedByUsername().equals(username);
 
@@ -238,28 +225,29 @@ public class TicketController {
     public String searchTickets(@RequestParam(required = false) TicketStatus status,
                                @RequestParam(required = false) TicketPriority priority,
                                @RequestParam(required = false) String keyword,
+                               @RequestParam(required = false) Integer activeWithinDays,
+                               @RequestParam(defaultValue = TicketService.RELEVANCE_SORT) String sort,
                                @RequestParam(defaultValue = "0") int page,
                                @RequestParam(defaultValue = "10") int size,
                                Model model,
-                               Authentication authentication) {
+                               @CurrentUser HelpdeskUserDetails currentUser) {
+        if (!TicketService.isSearchSort(sort)) {
+            sort = TicketService.RELEVANCE_SORT;
+        }
         try {
-            String username = authentication.getName();
-
-            boolean isAdmin = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isAgent = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-            boolean isUser = !isAdmin && !isAgent;
+            boolean isUser = currentUser.isRegularUser();
 
-            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            Pageable pageable = PageRequest.of(page, size, TicketService.searchSort(sort));
+            LocalDateTime activeSince = activeWithinDays != null && activeWithinDays > 0
+                    ? LocalDateTime.now().minusDays(activeWithinDays)
+                    : null;
             Page<TicketDto> ticketPage;
 
             if (isUser) {
                 // Filter to show only user's own tickets
-                User user = userService.getUserByUsername(username);
-                ticketPage = ticketService.searchTicketsByUserPaginated(user.getId(), status, priority, keyword, pageable);
+                ticketPage = ticketService.searchTicketsByUserPaginated(currentUser.getId(), status, priority, activeSince, keyword, pageable);
             } else {
-                ticketPage = ticketService.searchTicketsPaginated(status, priority, keyword, pageable);
+                ticketPage = ticketService.searchTicketsPaginated(status, priority, activeSince, keyword, pageable);
             }
 
             model.addAttribute("tickets", ticketPage.getContent());
@@ -281,17 +269,17 @@ public class TicketController {
         model.addAttribute("selectedStatus", status);
         model.addAttribute("selectedPriority", priority);
         model.addAttribute("keyword", keyword != null ? keyword : "");
+        model.addAttribute("activeWithinDays", activeWithinDays);
+        model.addAttribute("sort", sort);
         return "ticket/search";
     }
 
     @PostMapping("/{id}/claim")
     public String claimTicket(@PathVariable Long id,
-                              Authentication authentication,
+                              @CurrentUser HelpdeskUserDetails currentUser,
                               RedirectAttributes redirectAttributes) {
         try {
-            String username = authentication.getName();
-            User agent = userService.getUserByUsername(username);
-            ticketService.claimTicket(id, agent.getId());
+            ticketService.claimTicket(id, currentUser.getId());
             redirectAttributes.addFlashAttribute("success", "Ticket claimed successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to claim ticket: " + e.getMessage());
@@ -316,11 +304,10 @@ public class TicketController {
     @PostMapping("/{id}/comments")
     public String addComment(@PathVariable Long id,
                             @RequestParam String content,
-                            Authentication authentication,
+                            @CurrentUser HelpdeskUserDetails currentUser,
                             RedirectAttributes redirectAttributes) {
         try {
-            String username = authentication.getName();
-            commentService.addComment(id, username, content);
+            commentService.addComment(id, currentUser.getId(), content);
             redirectAttributes.addFlashAttribute("success", "Comment added successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to add comment: " + e.getMessage());
@@ -331,13 +318,11 @@ public class TicketController {
     @PostMapping("/{ticketId}/comments/{commentId}/delete")
     public String deleteComment(@PathVariable Long ticketId,
                                @PathVariable Long commentId,
-                               Authentication authentication,
+                               @CurrentUser HelpdeskUserDetails currentUser,
                                RedirectAttributes redirectAttributes) {
         try {
-            String username = authentication.getName();
-            boolean isAdmin = authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            commentService.deleteComment(commentId, username, isAdmin);
+            boolean isAdmin = currentUser.isAdmin();
+            commentService.deleteComment(commentId, currentUser.getId(), isAdmin);
             redirectAttributes.addFlashAttribute("success", "Comment deleted successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Failed to delete comment: " + e.getMessage());
@@ -0,0 +1,134 @@
+package com.example.helpdesk.controller.api;
+
+import com.example.helpdesk.dto.TicketAttachmentDto;
+import com.example.helpdesk.security.CurrentUser;
+import com.example.helpdesk.security.HelpdeskUserDetails;
+import com.example.helpdesk.service.AttachmentStore;
+import com.example.helpdesk.service.TicketAttachmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AttachmentRestController {
+
+    private final TicketAttachmentService attachmentService;
+
+    @GetMapping("/tickets/{ticketId}/attachments")
+    public ResponseEntity<List<TicketAttachmentDto>> getAttachments(@PathVariable Long ticketId,
+                                                                    @CurrentUser HelpdeskUserDetails currentUser) {
+        return ResponseEntity.ok(attachmentService.getAttachments(ticketId, currentUser.getId(), currentUser.isRegularUser()));
+    }
+
+    /**
+     * Multipart upload; the part is streamed into the attachment store while it is hashed.
+     */
+    @PostMapping(value = "/tickets/{ticketId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TicketAttachmentDto> uploadAttachment(@PathVariable Long ticketId,
+                                                                @RequestParam("file") MultipartFile file,
+                                                                @CurrentUser HelpdeskUserDetails currentUser) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (InputStream content = file.getInputStream()) {
+            TicketAttachmentDto attachment = attachmentService.addAttachment(ticketId, currentUser.getId(),
+                    currentUser.isRegularUser(), file.getOriginalFilename(), file.getContentType(), content);
+            return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
+        }
+    }
+
+    /**
+     * Attachment content with a strong ETag (the SHA-256 of the content) and
+     * single byte-range support for resumable and partial downloads.
+     */
+    @GetMapping("/attachments/{id}/content")
+    public ResponseEntity<StreamingResponseBody> downloadAttachment(@PathVariable Long id,
+                                                                    @RequestHeader HttpHeaders requestHeaders,
+                                                                    @CurrentUser HelpdeskUserDetails currentUser) throws IOException {
+        TicketAttachmentService.Content content = attachmentService.getContent(id, currentUser.getId(), currentUser.isRegularUser());
+        TicketAttachmentDto attachment = content.getAttachment();
+        Path path = content.getPath();
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        long length = Files.size(path);
+        String etag = "\"" + attachment.getContentHash() + "\"";
+
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(mediaType(attachment.getFileType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8)
+                .build());
+
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            ranges = List.of();
+        }
+        // If-Range: a stale validator means the client gets the whole file
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            ranges = List.of();
+        }
+
+        // Multiple ranges are answered with the full content, which RFC 9110 allows
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start = range.getRangeStart(length);
+            if (start >= length) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+            long end = Math.min(range.getRangeEnd(length), length - 1);
+            long count = end - start + 1;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            headers.setContentLength(count);
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .body(out -> AttachmentStore.transfer(path, start, count, out));
+        }
+
+        headers.setContentLength(length);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> AttachmentStore.transfer(path, 0, length, out));
+    }
+
+    @DeleteMapping("/attachments/{id}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long id, @CurrentUser HelpdeskUserDetails currentUser) {
+        attachmentService.deleteAttachment(id, currentUser.getId(), currentUser.isAdmin());
+        return ResponseEntity.noContent().build();
+    }
+
+    private static MediaType mediaType(String fileType) {
+        try {
+            return fileType != null ? MediaType.parseMediaType(fileType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
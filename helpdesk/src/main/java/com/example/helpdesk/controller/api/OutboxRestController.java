@@ -0,0 +1,38 @@
+package com.example.helpdesk.controller.api;
+
+import com.example.helpdesk.dto.OutboxStatsDto;
+import com.example.helpdesk.service.OutboxDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class OutboxRestController {
+
+    private final OutboxDispatcher dispatcher;
+
+    @GetMapping
+    public ResponseEntity<OutboxStatsDto> getStats() {
+        return ResponseEntity.ok(dispatcher.getStats());
+    }
+
+    /**
+     * Redelivers every retained event with an offset of at least {@code fromId},
+     * e.g. after fixing a consumer. Delivered events older than the retention
+     * window are already purged and cannot be replayed.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replay(@RequestParam long fromId) {
+        return ResponseEntity.accepted().body(Map.of("queued", dispatcher.replayFrom(fromId)));
+    }
+}
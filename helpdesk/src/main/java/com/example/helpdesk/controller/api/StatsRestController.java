@@ -1,10 +1,14 @@
 package com.example.helpdesk.controller.api;
 
+import com.example.helpdesk.dto.CacheStatsDto;
 import com.example.helpdesk.dto.DashboardStatsDto;
+import com.example.helpdesk.security.CurrentUser;
+import com.example.helpdesk.security.HelpdeskUserDetails;
+import com.example.helpdesk.security.TtlUserCache;
 import com.example.helpdesk.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,19 +19,19 @@ import org.springframework.web.bind.annotation.RestController;
 public class StatsRestController {
 
     private final DashboardService dashboardService;
+    private final TtlUserCache userCache;
 
     @GetMapping
-    public ResponseEntity<DashboardStatsDto> getStats(Authentication authentication) {
-        String username = authentication.getName();
+    public ResponseEntity<DashboardStatsDto> getStats(@CurrentUser HelpdeskUserDetails currentUser) {
+        boolean isUser = currentUser.isRegularUser();
 
-        // Determine if user is a regular user (not admin or agent)
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-        boolean isUser = !isAdmin && !isAgent;
-
-        DashboardStatsDto stats = dashboardService.getDashboardStats(username, isUser);
+        DashboardStatsDto stats = dashboardService.getDashboardStats(currentUser.getId(), isUser);
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/user-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsDto> getUserCacheStats() {
+        return ResponseEntity.ok(userCache.getStats());
+    }
 }
@@ -1,58 +1,172 @@
 package com.example.helpdesk.controller.api;
 
+import com.example.helpdesk.dto.BulkResultDto;
+import com.example.helpdesk.dto.BulkTicketUpdateDto;
+import com.example.helpdesk.dto.CursorPageDto;
+import com.example.helpdesk.dto.ImportResultDto;
+import com.example.helpdesk.dto.TicketCommentDto;
 import com.example.helpdesk.dto.TicketDto;
-import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.TicketPriority;
 import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.export.TicketExportWriter;
+import com.example.helpdesk.export.TicketExportWriter.ExportFormat;
+import com.example.helpdesk.security.CurrentUser;
+import com.example.helpdesk.security.HelpdeskUserDetails;
+import com.example.helpdesk.service.TicketClaimConflictException;
+import com.example.helpdesk.service.TicketCommentService;
+import com.example.helpdesk.service.TicketFeedBroadcaster;
+import com.example.helpdesk.service.TicketImportService;
 import com.example.helpdesk.service.TicketService;
-import com.example.helpdesk.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tickets")
 @RequiredArgsConstructor
 public class TicketRestController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final TicketService ticketService;
-    private final UserService userService;
+    private final TicketCommentService commentService;
+    private final TicketImportService ticketImportService;
+    private final TicketFeedBroadcaster feedBroadcaster;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<TicketDto>> getAllTickets(Authentication authentication) {
-        String username = authentication.getName();
-
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-        boolean isUser = !isAdmin && !isAgent;
+    public ResponseEntity<List<TicketDto>> getAllTickets(@CurrentUser HelpdeskUserDetails currentUser) {
+        boolean isUser = currentUser.isRegularUser();
 
         if (isUser) {
             // Regular users see only their own tickets
-            User user = userService.getUserByUsername(username);
-            return ResponseEntity.ok(ticketService.getTicketsByUser(user.getId()));
+            return ResponseEntity.ok(ticketService.getTicketsByUser(currentUser.getId()));
         } else {
             // Agents and admins see all tickets
             return ResponseEntity.ok(ticketService.getAllTickets());
         }
     }
 
+    /**
+     * Full ticket list as newline-delimited JSON, written while rows are read
+     * from the database instead of being collected in memory first.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTickets(@CurrentUser HelpdeskUserDetails currentUser) {
+        boolean isUser = currentUser.isRegularUser();
+
+        Long creatorId = isUser ? currentUser.getId() : null;
+        ObjectWriter writer = objectMapper.writerFor(TicketDto.class);
+
+        StreamingResponseBody body = out -> ticketService.streamTickets(creatorId, ticket -> {
+            try {
+                out.write(writer.writeValueAsBytes(ticket));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Report export of every ticket matching the search filters, as CSV or XLSX.
+     * Rows are written while the database cursor advances, so the first bytes go
+     * out immediately and heap use does not depend on the result size.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) TicketPriority priority,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime activeSince) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (TicketExportWriter writer = TicketExportWriter.create(exportFormat, out)) {
+                ticketService.exportTickets(status, priority, activeSince, keyword, ticket -> {
+                    try {
+                        writer.write(ticket);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("tickets." + exportFormat.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * Live feed of committed ticket and comment changes as Server-Sent Events
+     * (event name {@code ticket}), optionally narrowed to a department, assignee or priority.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<SseEmitter> streamEvents(@RequestParam(required = false) Long departmentId,
+                                                   @RequestParam(required = false) Long assignedToId,
+                                                   @RequestParam(required = false) TicketPriority priority) {
+        try {
+            return ResponseEntity.ok(feedBroadcaster.subscribe(departmentId, assignedToId, priority));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).build();
+        }
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<CursorPageDto<TicketDto>> getRecentTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser HelpdeskUserDetails currentUser) {
+
+        boolean isUser = currentUser.isRegularUser();
+
+        Long creatorId = isUser ? currentUser.getId() : null;
+        try {
+            return ResponseEntity.ok(ticketService.getTicketsAfterCursor(creatorId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<TicketDto> getTicket(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<TicketDto> getTicket(@PathVariable Long id, @CurrentUser HelpdeskUserDetails currentUser) {
         TicketDto ticket = ticketService.getTicketById(id);
 
         // Check if user has permission to view this ticket
-        String username = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-        boolean isUser = !isAdmin && !isAgent;
+        String username = currentUser.getUsername();
+        boolean isUser = currentUser.isRegularUser();
 
         if (isUser && !ticket.getCreatedByUsername().equals(username)) {
             // Regular user trying to access someone else's ticket
@@ -62,31 +176,50 @@ public class TicketRestController {
         return ResponseEntity.ok(ticket);
     }
 
+    /**
+     * Comment thread page, newest first; pass {@code nextCursor} back to load older comments.
+     */
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPageDto<TicketCommentDto>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser HelpdeskUserDetails currentUser) {
+        if (currentUser.isRegularUser()
+                && !currentUser.getUsername().equals(ticketService.getTicketById(id).getCreatedByUsername())) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(commentService.getCommentPage(id, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<TicketDto>> searchTickets(
+    public ResponseEntity<Page<TicketDto>> searchTickets(
             @RequestParam(required = false) TicketStatus status,
             @RequestParam(required = false) TicketPriority priority,
             @RequestParam(required = false) String keyword,
-            Authentication authentication) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime activeSince,
+            @RequestParam(defaultValue = TicketService.RELEVANCE_SORT) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser HelpdeskUserDetails currentUser) {
 
-        String username = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        boolean isAgent = authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_AGENT"));
-        boolean isUser = !isAdmin && !isAgent;
+        boolean isUser = currentUser.isRegularUser();
 
-        List<TicketDto> tickets = ticketService.searchTickets(status, priority, keyword);
+        if (!TicketService.isSearchSort(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Page size is capped in TicketService
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), TicketService.searchSort(sort));
 
         if (isUser) {
-            // Filter to show only users own tickets
-            tickets = tickets.stream()
-                    .filter(t -> t.getCreatedByUsername() != null &&
-                               t.getCreatedByUsername().equals(username))
-                    .collect(Collectors.toList());
+            // Ownership predicate is applied in the query, not after loading
+            return ResponseEntity.ok(ticketService.searchTicketsByUserPaginated(currentUser.getId(), status, priority, activeSince, keyword, pageable));
         }
-
-        return ResponseEntity.ok(tickets);
+        return ResponseEntity.ok(ticketService.searchTicketsPaginated(status, priority, activeSince, keyword, pageable));
     }
 
     @PostMapping("/{id}/assign")
@@ -94,8 +227,67 @@ public class TicketRestController {
         return ResponseEntity.ok(ticketService.assignTicket(id, userId));
     }
 
+    /**
+     * Claims an unassigned ticket for the caller; 409 if another agent got it first.
+     */
+    @PostMapping("/{id}/claim")
+    public ResponseEntity<TicketDto> claimTicket(@PathVariable Long id, @CurrentUser HelpdeskUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(ticketService.claimTicket(id, currentUser.getId()));
+        } catch (TicketClaimConflictException e) {
+            return ResponseEntity.status(409).build();
+        }
+    }
+
     @PostMapping("/{id}/status")
     public ResponseEntity<TicketDto> updateStatus(@PathVariable Long id, @RequestParam TicketStatus status) {
         return ResponseEntity.ok(ticketService.updateTicketStatus(id, status));
     }
+
+    // Bulk operations for triage; each item in the result reports its own outcome
+    @PostMapping("/bulk/assign")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<BulkResultDto> bulkAssign(@Valid @RequestBody BulkTicketUpdateDto request) {
+        if (request.getAssignedToId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketService.bulkAssign(request.getTicketIds(), request.getAssignedToId()));
+    }
+
+    @PostMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<BulkResultDto> bulkUpdateStatus(@Valid @RequestBody BulkTicketUpdateDto request) {
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketService.bulkUpdateStatus(request.getTicketIds(), request.getStatus()));
+    }
+
+    @PostMapping("/bulk/department")
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<BulkResultDto> bulkMoveDepartment(@Valid @RequestBody BulkTicketUpdateDto request) {
+        if (request.getDepartmentId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketService.bulkMoveDepartment(request.getTicketIds(), request.getDepartmentId()));
+    }
+
+    /**
+     * Bulk ticket import from a CSV (with header row) or NDJSON body. The body is
+     * read as a stream, so uploads are not limited by heap size.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @PreAuthorize("hasAnyRole('AGENT', 'ADMIN')")
+    public ResponseEntity<ImportResultDto> importTickets(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                         InputStream body,
+                                                         @CurrentUser HelpdeskUserDetails currentUser) throws IOException {
+        TicketImportService.Format format = contentType.isCompatibleWith(MediaType.valueOf(NDJSON))
+                ? TicketImportService.Format.NDJSON
+                : TicketImportService.Format.CSV;
+        try {
+            return ResponseEntity.ok(ticketImportService.importTickets(body, format, currentUser.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
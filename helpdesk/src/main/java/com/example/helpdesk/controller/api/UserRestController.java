@@ -0,0 +1,29 @@
+package com.example.helpdesk.controller.api;
+
+import com.example.helpdesk.dto.AgentOptionDto;
+import com.example.helpdesk.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserRestController {
+
+    private final UserService userService;
+
+    /**
+     * Typeahead for the ticket assignee field.
+     */
+    @GetMapping("/agents")
+    public ResponseEntity<List<AgentOptionDto>> searchAgents(@RequestParam(defaultValue = "") String q,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.searchAssignableAgents(q, limit));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+/**
+ * Minimal view of a user who can be assigned tickets, for pick-lists.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgentOptionDto {
+    private Long id;
+    private String username;
+    private String fullName;
+}
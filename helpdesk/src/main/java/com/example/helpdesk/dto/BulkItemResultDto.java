@@ -0,0 +1,14 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDto {
+    private Long ticketId;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDto {
+    private int requested;
+    private int updated;
+    private int failed;
+    private List<BulkItemResultDto> items;
+}
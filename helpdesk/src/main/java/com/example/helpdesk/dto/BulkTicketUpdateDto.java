@@ -0,0 +1,28 @@
+package com.example.helpdesk.dto;
+
+import com.example.helpdesk.enums.TicketStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request body for the bulk ticket endpoints; only the field matching the
+ * operation (assignee, status or department) is read.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTicketUpdateDto {
+
+    @NotEmpty(message = "At least one ticket id is required")
+    @Size(max = 10000, message = "At most 10000 tickets can be updated at once")
+    private List<Long> ticketIds;
+
+    private Long assignedToId;
+    private TicketStatus status;
+    private Long departmentId;
+}
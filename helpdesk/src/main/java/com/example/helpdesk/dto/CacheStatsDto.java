@@ -0,0 +1,15 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDto {
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
@@ -0,0 +1,19 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDto {
+    private long received;
+    private long created;
+    private long duplicates;
+    private long rejected;
+    // First errors only, prefixed with the 1-based record number
+    private List<String> errors;
+}
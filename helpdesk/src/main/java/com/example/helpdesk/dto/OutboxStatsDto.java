@@ -0,0 +1,14 @@
+package com.example.helpdesk.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxStatsDto {
+    private long pending;
+    // Events that exhausted their delivery attempts; replay makes them pending again
+    private long failed;
+}
@@ -0,0 +1,24 @@
+package com.example.helpdesk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAttachmentDto {
+    private Long id;
+    private String fileName;
+    private String fileType;
+    private Long fileSize;
+    private String contentHash;
+    private LocalDateTime uploadedAt;
+    private Long ticketId;
+    private Long uploadedById;
+    private String uploadedByUsername;
+}
@@ -0,0 +1,21 @@
+package com.example.helpdesk.dto;
+
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import lombok.*;
+
+/**
+ * One row of the grouped ticket aggregation: number of tickets for a
+ * status/priority combination, plus how many of them are active and
+ * assigned to the requesting agent.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCountDto {
+    private TicketStatus status;
+    private TicketPriority priority;
+    private Long count;
+    private Long assignedActiveCount;
+}
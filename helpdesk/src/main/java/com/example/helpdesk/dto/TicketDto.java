@@ -22,9 +22,13 @@ public class TicketDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime resolvedAt;
+    private int commentCount;
+    private LocalDateTime lastActivityAt;
     private String createdByUsername;
     private String createdByFullName;
+    private Long assignedToId;
     private String assignedToUsername;
     private String assignedToFullName;
+    private Long departmentId;
     private String departmentName;
 }
@@ -0,0 +1,33 @@
+package com.example.helpdesk.dto;
+
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of the live ticket feed. {@code type} is a TicketChangeType name,
+ * COMMENT_ADDED / COMMENT_DELETED, or BULK_ followed by a TicketChangeType name;
+ * {@code commentId} is only set for comments. A bulk entry summarises one bulk
+ * operation: only {@code ticketIds}, the subscriber's matching tickets, and
+ * {@code occurredAt} are set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketFeedEventDto {
+    private String type;
+    private Long ticketId;
+    private String title;
+    private TicketStatus status;
+    private TicketPriority priority;
+    private Long assignedToId;
+    private Long departmentId;
+    private Long commentId;
+    private List<Long> ticketIds;
+    private LocalDateTime occurredAt;
+}
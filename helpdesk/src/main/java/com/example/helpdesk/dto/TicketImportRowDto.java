@@ -0,0 +1,35 @@
+package com.example.helpdesk.dto;
+
+import com.example.helpdesk.enums.TicketCategory;
+import com.example.helpdesk.enums.TicketPriority;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * One record of a CSV or NDJSON ticket import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketImportRowDto {
+    // tickets.external_ref is VARCHAR(255)
+    @Size(max = 255, message = "External reference must be at most 255 characters")
+    private String externalRef;
+    private String title;
+    private String description;
+    private TicketPriority priority;
+    private TicketCategory category;
+    private Long departmentId;
+
+    public TicketCreateDto toCreateDto() {
+        return TicketCreateDto.builder()
+                .title(title)
+                .description(description)
+                .priority(priority)
+                .category(category)
+                .departmentId(departmentId)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.helpdesk.entity;
+
+/**
+ * Ids reserved per sequence round trip by the pooled generators on high-volume
+ * entities. Must equal the INCREMENT BY of their database sequences (see
+ * db/migration/V4); change both together.
+ */
+final class IdAllocation {
+
+    static final int SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.helpdesk.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the transactional outbox (db/migration/V8). The id doubles as the
+ * delivery offset used for replays. Offsets follow commit order per ticket
+ * only; events of different tickets can commit out of offset order.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Not pooled: taken at persist time, after TicketEventOutbox has locked the ticket (db/migration/V9)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    // Ticket id; events of one ticket are delivered in offset order
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    // JSON: {"before": TicketSnapshot, "after": TicketSnapshot}
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -5,13 +5,30 @@ import com.example.helpdesk.enums.TicketPriority;
 import com.example.helpdesk.enums.TicketStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        // Created by db/migration/V3, together with partial indexes JPA can't express
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_tickets_status_created_at", columnList = "status, created_at DESC"),
+        @Index(name = "idx_tickets_priority_created_at", columnList = "priority, created_at DESC"),
+        @Index(name = "idx_tickets_created_by_created_at", columnList = "created_by_id, created_at DESC, id DESC"),
+        @Index(name = "idx_tickets_assigned_to_created_at", columnList = "assigned_to_id, created_at DESC"),
+        @Index(name = "idx_tickets_department", columnList = "department_id")
+})
+@NamedEntityGraph(name = Ticket.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("department")
+})
+// Only changed columns are written, so saving a ticket never overwrites a
+// commentCount incremented concurrently by TicketCommentService
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +36,12 @@ import java.util.List;
 @Builder
 public class Ticket {
 
+    // Associations read by TicketMapper.toDto, fetched together by list queries
+    public static final String SUMMARY_GRAPH = "Ticket.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -44,6 +65,18 @@ public class Ticket {
     private LocalDateTime updatedAt;
     private LocalDateTime resolvedAt;
 
+    // Maintained with atomic UPDATEs by TicketCommentService (db/migration/V7)
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    // Latest of creation, any update and the newest comment
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+
+    // Set by TicketImportService; unique among non-null values (db/migration/V5)
+    @Column(name = "external_ref")
+    private String externalRef;
+
     @ManyToOne
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
@@ -68,6 +101,7 @@ public class Ticket {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        lastActivityAt = createdAt;
         if (status == null) {
             status = TicketStatus.OPEN;
         }
@@ -79,6 +113,7 @@ public class Ticket {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        lastActivityAt = updatedAt;
         if (status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED) {
             if (resolvedAt == null) {
                 resolvedAt = LocalDateTime.now();
@@ -15,15 +15,21 @@ import java.time.LocalDateTime;
 public class TicketAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_attachments_seq")
+    @SequenceGenerator(name = "ticket_attachments_seq", sequenceName = "ticket_attachments_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String fileName;
 
+    // Location inside the attachment store, relative to its root
     @Column(nullable = false)
     private String filePath;
 
+    // Hex SHA-256 of the content; also the strong ETag for downloads
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     private String fileType;
     private Long fileSize;
 
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket_comments")
+@Table(name = "ticket_comments", indexes = {
+        @Index(name = "idx_ticket_comments_ticket_created_at", columnList = "ticket_id, created_at DESC, id DESC"),
+        @Index(name = "idx_ticket_comments_user", columnList = "user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +18,8 @@ import java.time.LocalDateTime;
 public class TicketComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_comments_seq")
+    @SequenceGenerator(name = "ticket_comments_seq", sequenceName = "ticket_comments_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(columnDefinition = "TEXT", nullable = false)
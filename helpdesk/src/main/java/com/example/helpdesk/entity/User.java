@@ -3,6 +3,7 @@ package com.example.helpdesk.entity;
 import com.example.helpdesk.enums.UserStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -20,7 +21,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -48,6 +50,7 @@ public class User {
     private Department department;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
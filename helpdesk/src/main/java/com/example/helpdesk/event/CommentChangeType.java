@@ -0,0 +1,6 @@
+package com.example.helpdesk.event;
+
+public enum CommentChangeType {
+    ADDED,
+    DELETED
+}
@@ -0,0 +1,17 @@
+package com.example.helpdesk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A {@link TicketChangedEvent} delivered from the transactional outbox by
+ * OutboxDispatcher, on a dispatcher thread after the change committed.
+ * Delivery is at least once (and again on replay), so listeners must be
+ * idempotent; {@code offset} identifies the event across redeliveries.
+ */
+@Getter
+@AllArgsConstructor
+public class DispatchedTicketEvent {
+    private final long offset;
+    private final TicketChangedEvent event;
+}
@@ -0,0 +1,20 @@
+package com.example.helpdesk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by TicketService once per bulk operation and by TicketImportService
+ * once per saved batch, after the per-ticket {@link TicketChangedEvent}s it
+ * contains, for listeners that would rather handle them together than one by one.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketBulkChangedEvent {
+    private final TicketChangeType type;
+    private final List<TicketChangedEvent> changes;
+    private final LocalDateTime occurredAt;
+}
@@ -0,0 +1,10 @@
+package com.example.helpdesk.event;
+
+public enum TicketChangeType {
+    CREATED,
+    UPDATED,
+    ASSIGNED,
+    CLAIMED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,35 @@
+package com.example.helpdesk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TicketService whenever a ticket is created, modified or deleted.
+ * {@code before} is null for creations and {@code after} is null for deletions.
+ * {@code bulk} marks the per-ticket events of a bulk operation, which is also
+ * summarised by one {@link TicketBulkChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketChangedEvent {
+    private final TicketChangeType type;
+    private final TicketSnapshot before;
+    private final TicketSnapshot after;
+    private final LocalDateTime occurredAt;
+    private final boolean bulk;
+
+    public TicketChangedEvent(TicketChangeType type, TicketSnapshot before, TicketSnapshot after) {
+        this(type, before, after, LocalDateTime.now());
+    }
+
+    public TicketChangedEvent(TicketChangeType type, TicketSnapshot before, TicketSnapshot after,
+                              LocalDateTime occurredAt) {
+        this(type, before, after, occurredAt, false);
+    }
+
+    public Long getTicketId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.helpdesk.event;
+
+import com.example.helpdesk.enums.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TicketCommentService when a comment is added to or removed from a ticket.
+ * The ticket's department, assignee and priority at the time are included so listeners
+ * can route the event without loading the ticket.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketCommentEvent {
+    private final CommentChangeType type;
+    private final Long ticketId;
+    private final Long commentId;
+    private final Long userId;
+    private final String content;
+    private final Long departmentId;
+    private final Long assignedToId;
+    private final TicketPriority priority;
+    private final LocalDateTime occurredAt;
+
+    public TicketCommentEvent(CommentChangeType type, Long ticketId, Long commentId, Long userId, String content,
+                              Long departmentId, Long assignedToId, TicketPriority priority) {
+        this(type, ticketId, commentId, userId, content, departmentId, assignedToId, priority, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.helpdesk.event;
+
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Immutable copy of the ticket fields that listeners care about, taken
+ * inside the transaction so it can be safely used after commit. Stored as
+ * JSON in the event outbox.
+ */
+@Getter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Jacksonized
+public class TicketSnapshot {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TicketStatus status;
+    private final TicketPriority priority;
+    private final Long createdById;
+    private final Long assignedToId;
+    private final Long departmentId;
+
+    public static TicketSnapshot of(Ticket ticket) {
+        return TicketSnapshot.builder()
+                .id(ticket.getId())
+                .title(ticket.getTitle())
+                .description(ticket.getDescription())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .createdById(ticket.getCreatedBy() != null ? ticket.getCreatedBy().getId() : null)
+                .assignedToId(ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null)
+                .departmentId(ticket.getDepartment() != null ? ticket.getDepartment().getId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.helpdesk.export;
+
+import com.example.helpdesk.dto.TicketDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes ticket rows to an output stream one at a time, so exports never hold
+ * more than the current row in memory. {@link #close()} finishes the document
+ * but leaves the underlying stream open.
+ */
+public interface TicketExportWriter extends Closeable {
+
+    List<String> COLUMNS = List.of("ID", "Title", "Status", "Priority", "Category", "Department",
+            "Created By", "Assigned To", "Created At", "Updated At", "Resolved At");
+
+    void write(TicketDto ticket) throws IOException;
+
+    static TicketExportWriter create(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvTicketWriter(out);
+            case XLSX -> new XlsxTicketWriter(out);
+        };
+    }
+
+    /**
+     * Cell values in {@link #COLUMNS} order; absent values are empty strings.
+     */
+    static List<String> values(TicketDto ticket) {
+        return List.of(
+                String.valueOf(ticket.getId()),
+                text(ticket.getTitle()),
+                ticket.getStatus() != null ? ticket.getStatus().name() : "",
+                ticket.getPriority() != null ? ticket.getPriority().name() : "",
+                ticket.getCategory() != null ? ticket.getCategory().name() : "",
+                text(ticket.getDepartmentName()),
+                text(ticket.getCreatedByUsername()),
+                text(ticket.getAssignedToUsername()),
+                time(ticket.getCreatedAt()),
+                time(ticket.getUpdatedAt()),
+                time(ticket.getResolvedAt()));
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String time(LocalDateTime value) {
+        return value != null ? value.withNano(0).toString() : "";
+    }
+
+    enum ExportFormat {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.helpdesk.export;
+
+import com.example.helpdesk.dto.TicketDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal SpreadsheetML (.xlsx) writer. Worksheets are streamed straight into the
+ * zip as rows arrive, using inline strings so no shared-string table has to be
+ * kept; the workbook parts that list the sheets are written on close. A new sheet
+ * is started whenever the Excel row limit is reached.
+ */
+class XlsxTicketWriter implements TicketExportWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxRowsPerSheet;
+    private int sheetCount;
+    private int rowInSheet;
+
+    XlsxTicketWriter(OutputStream out) throws IOException {
+        this(out, MAX_ROWS_PER_SHEET);
+    }
+
+    // Header row included; smaller limits let tests exercise the sheet rollover
+    XlsxTicketWriter(OutputStream out, int maxRowsPerSheet) throws IOException {
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        startSheet();
+    }
+
+    @Override
+    public void write(TicketDto ticket) throws IOException {
+        if (rowInSheet == maxRowsPerSheet) {
+            endSheet();
+            startSheet();
+        }
+        writeRow(TicketExportWriter.values(ticket));
+    }
+
+    @Override
+    public void close() throws IOException {
+        endSheet();
+        writePart("[Content_Types].xml", contentTypes());
+        writePart("_rels/.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writePart("xl/workbook.xml", workbook());
+        writePart("xl/_rels/workbook.xml.rels", workbookRelationships());
+        // finish() completes the archive without closing the response stream
+        zip.finish();
+        zip.flush();
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        writeRow(COLUMNS);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRow(List<String> values) throws IOException {
+        rowInSheet++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowInSheet));
+        writer.write("\">");
+        for (String value : values) {
+            writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            writeEscaped(value);
+            writer.write("</t></is></c>");
+        }
+        writer.write("</row>");
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // Control characters other than tab and line breaks (and U+FFFE/U+FFFF) are not legal XML
+                    if ((c >= 0x20 && c != '\uFFFE' && c != '\uFFFF') || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writePart(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private String contentTypes() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private String workbook() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.append("<sheet name=\"Tickets").append(i == 1 ? "" : " " + i)
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return xml.append("</sheets></workbook>").toString();
+    }
+
+    private String workbookRelationships() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetCount; i++) {
+            xml.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .append(i).append(".xml\"/>");
+        }
+        return xml.append("</Relationships>").toString();
+    }
+}
@@ -14,8 +14,10 @@ public interface TicketMapper {
 
     @Mapping(target = "createdByUsername", source = "createdBy.username")
     @Mapping(target = "createdByFullName", expression = "java(getFullName(ticket.getCreatedBy()))")
+    @Mapping(target = "assignedToId", source = "assignedTo.id")
     @Mapping(target = "assignedToUsername", source = "assignedTo.username")
     @Mapping(target = "assignedToFullName", expression = "java(getFullName(ticket.getAssignedTo()))")
+    @Mapping(target = "departmentId", source = "department.id")
     @Mapping(target = "departmentName", source = "department.name")
     TicketDto toDto(Ticket ticket);
 
@@ -29,6 +31,9 @@ public interface TicketMapper {
     @Mapping(target = "department", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "attachments", ignore = true)
+    @Mapping(target = "externalRef", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "lastActivityAt", ignore = true)
     Ticket toEntity(TicketCreateDto dto);
 
     List<TicketDto> toDtoList(List<Ticket> tickets);
@@ -42,6 +47,9 @@ public interface TicketMapper {
     @Mapping(target = "department", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "attachments", ignore = true)
+    @Mapping(target = "externalRef", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
+    @Mapping(target = "lastActivityAt", ignore = true)
     void updateEntity(TicketUpdateDto dto, @MappingTarget Ticket ticket);
 
     default String getFullName(User user) {
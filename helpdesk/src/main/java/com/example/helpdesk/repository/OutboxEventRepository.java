@@ -0,0 +1,53 @@
+package com.example.helpdesk.repository;
+
+import com.example.helpdesk.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Next pending batch, locked for this dispatcher; rows locked by other instances are skipped
+    @Query(value = "SELECT * FROM event_outbox WHERE dispatched_at IS NULL AND attempts < :maxAttempts " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockPendingBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    // [ticket id, lowest offset] of pending events that were not claimed, i.e. held by another dispatcher
+    @Query("SELECT e.aggregateId, MIN(e.id) FROM OutboxEvent e WHERE e.aggregateId IN :aggregateIds " +
+           "AND e.dispatchedAt IS NULL AND e.attempts < :maxAttempts AND e.id NOT IN :claimedIds " +
+           "GROUP BY e.aggregateId")
+    List<Object[]> findEarliestUnclaimed(@Param("aggregateIds") Collection<Long> aggregateIds,
+                                         @Param("claimedIds") Collection<Long> claimedIds,
+                                         @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :now WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids);
+
+    // Replay: make every retained event from the offset on pending again
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = NULL, e.attempts = 0 WHERE e.id >= :fromId")
+    int resetFrom(@Param("fromId") long fromId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.attempts < :maxAttempts")
+    long countPending(@Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.attempts >= :maxAttempts")
+    long countFailed(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,24 @@
+package com.example.helpdesk.repository;
+
+import com.example.helpdesk.entity.TicketAttachment;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TicketAttachmentRepository extends JpaRepository<TicketAttachment, Long> {
+
+    @EntityGraph(attributePaths = "uploadedBy")
+    List<TicketAttachment> findByTicket_IdOrderByUploadedAtDesc(Long ticketId);
+
+    // Other attachments still pointing at the same stored file
+    long countByContentHash(String contentHash);
+
+    // Held until the transaction ends; serialises publishing and deleting one stored file
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    int lockContent(@Param("key") long key);
+}
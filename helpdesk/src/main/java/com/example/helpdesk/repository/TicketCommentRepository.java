@@ -1,14 +1,45 @@
 package com.example.helpdesk.repository;
 
+import com.example.helpdesk.dto.TicketCommentDto;
 import com.example.helpdesk.entity.TicketComment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketCommentRepository extends JpaRepository<TicketComment, Long> {
     List<TicketComment> findByTicket_IdOrderByCreatedAtDesc(Long ticketId);
     List<TicketComment> findByUser_Id(Long userId);
     long countByTicket_Id(Long ticketId);
+
+    // Comment thread pages, newest first, as DTOs in one query (no per-comment user fetch)
+    @Query("SELECT new com.example.helpdesk.dto.TicketCommentDto(c.id, c.content, c.createdAt, c.ticket.id, " +
+           "u.id, u.username, CONCAT(u.firstName, ' ', u.lastName)) " +
+           "FROM TicketComment c JOIN c.user u WHERE c.ticket.id = :ticketId " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<TicketCommentDto> findCommentPage(@Param("ticketId") Long ticketId, Pageable pageable);
+
+    @Query("SELECT new com.example.helpdesk.dto.TicketCommentDto(c.id, c.content, c.createdAt, c.ticket.id, " +
+           "u.id, u.username, CONCAT(u.firstName, ' ', u.lastName)) " +
+           "FROM TicketComment c JOIN c.user u WHERE c.ticket.id = :ticketId AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<TicketCommentDto> findCommentPageBefore(@Param("ticketId") Long ticketId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // Comment text for building the in-process search index: [commentId, ticketId, content]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id, c.ticket.id, c.content FROM TicketComment c")
+    Stream<Object[]> streamSearchableText();
 }
@@ -1,71 +1,322 @@
 package com.example.helpdesk.repository;
 
+import com.example.helpdesk.dto.TicketCountDto;
+import com.example.helpdesk.entity.Department;
 import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.TicketStatus;
 import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.event.TicketSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findByStatusOrderByCreatedAtDesc(TicketStatus status);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findByPriorityOrderByCreatedAtDesc(TicketPriority priority);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findByCreatedBy_IdOrderByCreatedAtDesc(Long userId);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findByAssignedTo_IdOrderByCreatedAtDesc(Long userId);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findByDepartment_Id(Long departmentId);
 
     // Paginated methods
+    @Override
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    Page<Ticket> findAll(Pageable pageable);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     Page<Ticket> findByCreatedBy_Id(Long userId, Pageable pageable);
 
     // Get all tickets ordered by creation date (newest first)
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     List<Ticket> findAllByOrderByCreatedAtDesc();
 
+    // Forward-only streams for exports; rows are fetched from a server-side cursor
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<Ticket> streamAll();
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Ticket t WHERE t.createdBy.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<Ticket> streamByCreator(@Param("userId") Long userId);
+
+    // Same filters as searchTicketsPaginated, as a forward-only stream for report exports
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT t FROM Ticket t WHERE " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:activeSince IS NULL OR t.lastActivityAt >= :activeSince) AND " +
            "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "ORDER BY t.createdAt DESC")
-    List<Ticket> searchTickets(@Param("status") TicketStatus status,
-                               @Param("priority") TicketPriority priority,
-                               @Param("keyword") String keyword);
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<Ticket> streamSearch(@Param("status") TicketStatus status,
+                                @Param("priority") TicketPriority priority,
+                                @Param("activeSince") LocalDateTime activeSince,
+                                @Param("keyword") String keyword);
+
+    // Keyset (seek) pagination on (createdAt, id), newest first
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    List<Ticket> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE " +
+           "t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    List<Ticket> findByCreatedBy_IdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE t.createdBy.id = :userId AND " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findPageBeforeByCreator(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     @Query("SELECT t FROM Ticket t WHERE " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:activeSince IS NULL OR t.lastActivityAt >= :activeSince) AND " +
            "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Ticket> searchTicketsPaginated(@Param("status") TicketStatus status,
                                         @Param("priority") TicketPriority priority,
+                                        @Param("activeSince") LocalDateTime activeSince,
                                         @Param("keyword") String keyword,
                                         Pageable pageable);
 
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
     @Query("SELECT t FROM Ticket t WHERE " +
            "t.createdBy.id = :userId AND " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:activeSince IS NULL OR t.lastActivityAt >= :activeSince) AND " +
            "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Ticket> searchTicketsByUserPaginated(@Param("userId") Long userId,
                                               @Param("status") TicketStatus status,
                                               @Param("priority") TicketPriority priority,
+                                              @Param("activeSince") LocalDateTime activeSince,
                                               @Param("keyword") String keyword,
                                               Pageable pageable);
 
-    long countByStatus(TicketStatus status);
-    long countByPriority(TicketPriority priority);
+    // Relevance when :sort is null; otherwise descending on that property with relevance breaking ties
+    String FULL_TEXT_ORDER =
+            "CASE WHEN CAST(:sort AS varchar) = 'createdAt' THEN t.created_at END DESC, " +
+            "CASE WHEN CAST(:sort AS varchar) = 'lastActivityAt' THEN t.last_activity_at END DESC, " +
+            "CASE WHEN CAST(:sort AS varchar) = 'commentCount' THEN t.comment_count END DESC, " +
+            "ts_rank(t.search_vector, q) DESC, t.id DESC";
+
+    // Full-text search over the search_vector column (migration V2).
+    // Status, priority and activeSince are passed as strings; the sort property is passed
+    // as :sort (null for relevance) and pageable must be unsorted.
+    @Query(value = "SELECT t.* FROM tickets t, websearch_to_tsquery('english', :keyword) q " +
+                   "WHERE t.search_vector @@ q " +
+                   "AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar)) " +
+                   "AND (CAST(:priority AS varchar) IS NULL OR t.priority = CAST(:priority AS varchar)) " +
+                   "AND (CAST(:activeSince AS timestamp) IS NULL OR t.last_activity_at >= CAST(:activeSince AS timestamp)) " +
+                   "ORDER BY " + FULL_TEXT_ORDER,
+           countQuery = "SELECT COUNT(*) FROM tickets t " +
+                        "WHERE t.search_vector @@ websearch_to_tsquery('english', :keyword) " +
+                        "AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar)) " +
+                        "AND (CAST(:priority AS varchar) IS NULL OR t.priority = CAST(:priority AS varchar)) " +
+                        "AND (CAST(:activeSince AS timestamp) IS NULL OR t.last_activity_at >= CAST(:activeSince AS timestamp))",
+           nativeQuery = true)
+    Page<Ticket> fullTextSearch(@Param("status") String status,
+                                @Param("priority") String priority,
+                                @Param("activeSince") String activeSince,
+                                @Param("keyword") String keyword,
+                                @Param("sort") String sort,
+                                Pageable pageable);
+
+    @Query(value = "SELECT t.* FROM tickets t, websearch_to_tsquery('english', :keyword) q " +
+                   "WHERE t.created_by_id = :userId AND t.search_vector @@ q " +
+                   "AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar)) " +
+                   "AND (CAST(:priority AS varchar) IS NULL OR t.priority = CAST(:priority AS varchar)) " +
+                   "AND (CAST(:activeSince AS timestamp) IS NULL OR t.last_activity_at >= CAST(:activeSince AS timestamp)) " +
+                   "ORDER BY " + FULL_TEXT_ORDER,
+           countQuery = "SELECT COUNT(*) FROM tickets t " +
+                        "WHERE t.created_by_id = :userId " +
+                        "AND t.search_vector @@ websearch_to_tsquery('english', :keyword) " +
+                        "AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar)) " +
+                        "AND (CAST(:priority AS varchar) IS NULL OR t.priority = CAST(:priority AS varchar)) " +
+                        "AND (CAST(:activeSince AS timestamp) IS NULL OR t.last_activity_at >= CAST(:activeSince AS timestamp))",
+           nativeQuery = true)
+    Page<Ticket> fullTextSearchByUser(@Param("userId") Long userId,
+                                      @Param("status") String status,
+                                      @Param("priority") String priority,
+                                      @Param("activeSince") String activeSince,
+                                      @Param("keyword") String keyword,
+                                      @Param("sort") String sort,
+                                      Pageable pageable);
+
+    // Final page of rows for ids resolved by the in-process search index
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:activeSince IS NULL OR t.lastActivityAt >= :activeSince)")
+    Page<Ticket> searchByIds(@Param("ids") Collection<Long> ids,
+                             @Param("status") TicketStatus status,
+                             @Param("priority") TicketPriority priority,
+                             @Param("activeSince") LocalDateTime activeSince,
+                             Pageable pageable);
+
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids AND t.createdBy.id = :userId AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:activeSince IS NULL OR t.lastActivityAt >= :activeSince)")
+    Page<Ticket> searchByIdsAndUser(@Param("ids") Collection<Long> ids,
+                                    @Param("userId") Long userId,
+                                    @Param("status") TicketStatus status,
+                                    @Param("priority") TicketPriority priority,
+                                    @Param("activeSince") LocalDateTime activeSince,
+                                    Pageable pageable);
+
+    // Ticket text for building the in-process search index: [id, title, description]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id, t.title, t.description FROM Ticket t")
+    Stream<Object[]> streamSearchableText();
+
+    // Dashboard aggregation - one round trip per dashboard load
+    @Query("SELECT new com.example.helpdesk.dto.TicketCountDto(t.status, t.priority, COUNT(t), " +
+           "SUM(CASE WHEN t.assignedTo.id = :assigneeId AND t.status != 'CLOSED' THEN 1L ELSE 0L END)) " +
+           "FROM Ticket t GROUP BY t.status, t.priority")
+    List<TicketCountDto> countGroupedByStatusAndPriority(@Param("assigneeId") Long assigneeId);
+
+    @Query("SELECT new com.example.helpdesk.dto.TicketCountDto(t.status, t.priority, COUNT(t), 0L) " +
+           "FROM Ticket t WHERE t.createdBy.id = :userId GROUP BY t.status, t.priority")
+    List<TicketCountDto> countByCreatorGroupedByStatusAndPriority(@Param("userId") Long userId);
+
+    // In-memory counter seeding and reconciliation
+    @Query("SELECT t.createdBy.id, t.status, t.priority, COUNT(t) FROM Ticket t " +
+           "GROUP BY t.createdBy.id, t.status, t.priority")
+    List<Object[]> countGroupedByCreatorStatusAndPriority();
+
+    @Query("SELECT t.assignedTo.id, COUNT(t) FROM Ticket t " +
+           "WHERE t.assignedTo IS NOT NULL AND t.status != 'CLOSED' GROUP BY t.assignedTo.id")
+    List<Object[]> countActiveGroupedByAssignee();
+
+    // Atomic claim: the row lock makes concurrent claimers re-check the predicate, so one wins
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.assignedTo = :agent, t.updatedAt = :now, t.lastActivityAt = :now, " +
+           "t.status = CASE WHEN t.status = com.example.helpdesk.enums.TicketStatus.OPEN " +
+           "THEN com.example.helpdesk.enums.TicketStatus.IN_PROGRESS ELSE t.status END " +
+           "WHERE t.id = :ticketId AND t.assignedTo IS NULL")
+    int claimIfUnassigned(@Param("ticketId") Long ticketId,
+                          @Param("agent") User agent,
+                          @Param("now") LocalDateTime now);
+
+    // Import de-duplication: which of these external references are already stored
+    @Query("SELECT t.externalRef FROM Ticket t WHERE t.externalRef IN :refs")
+    List<String> findExistingExternalRefs(@Param("refs") Collection<String> refs);
+
+    // Row lock held to the end of the transaction; empty once the ticket is deleted
+    @Query(value = "SELECT t.id FROM tickets t WHERE t.id = :id FOR UPDATE", nativeQuery = true)
+    List<Long> lockRowById(@Param("id") Long id);
+
+    // One ticket's current state without loading its associations, e.g. to route comment events
+    @Query("SELECT new com.example.helpdesk.event.TicketSnapshot(t.id, t.title, t.description, t.status, " +
+           "t.priority, t.createdBy.id, t.assignedTo.id, t.department.id) " +
+           "FROM Ticket t WHERE t.id = :id")
+    Optional<TicketSnapshot> findSnapshotById(@Param("id") Long id);
+
+    // Counted state of the given tickets, read in the counter reload's snapshot
+    @Query("SELECT new com.example.helpdesk.event.TicketSnapshot(t.id, t.title, t.description, t.status, " +
+           "t.priority, t.createdBy.id, t.assignedTo.id, t.department.id) " +
+           "FROM Ticket t WHERE t.id IN :ids")
+    List<TicketSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk operations lock the batch before changing it, so events and per-item results describe
+    // the rows the UPDATE actually changes: [id, title, description, status, priority,
+    // createdById, assignedToId, departmentId]. Locked in id order to avoid deadlocks between batches.
+    @Query(value = "SELECT t.id, t.title, t.description, t.status, t.priority, " +
+                   "t.created_by_id, t.assigned_to_id, t.department_id " +
+                   "FROM tickets t WHERE t.id IN (:ids) ORDER BY t.id FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockSnapshotRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.assignedTo = :agent, t.updatedAt = :now, t.lastActivityAt = :now, " +
+           "t.status = CASE WHEN t.status = com.example.helpdesk.enums.TicketStatus.OPEN " +
+           "THEN com.example.helpdesk.enums.TicketStatus.IN_PROGRESS ELSE t.status END " +
+           "WHERE t.id IN :ids")
+    int bulkAssign(@Param("ids") Collection<Long> ids,
+                   @Param("agent") User agent,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :status, t.updatedAt = :now, t.lastActivityAt = :now WHERE t.id IN :ids")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                         @Param("status") TicketStatus status,
+                         @Param("now") LocalDateTime now);
+
+    // RESOLVED/CLOSED also stamp resolvedAt, as Ticket.onUpdate does for single saves
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :status, t.updatedAt = :now, t.lastActivityAt = :now, " +
+           "t.resolvedAt = COALESCE(t.resolvedAt, :now) WHERE t.id IN :ids")
+    int bulkResolve(@Param("ids") Collection<Long> ids,
+                    @Param("status") TicketStatus status,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.department = :department, t.updatedAt = :now, t.lastActivityAt = :now WHERE t.id IN :ids")
+    int bulkMoveDepartment(@Param("ids") Collection<Long> ids,
+                           @Param("department") Department department,
+                           @Param("now") LocalDateTime now);
 
-    // User-specific counts
-    long countByCreatedBy_Id(Long userId);
-    long countByCreatedBy_IdAndStatus(Long userId, TicketStatus status);
-    long countByCreatedBy_IdAndPriority(Long userId, TicketPriority priority);
+    // Comment bookkeeping as single-row atomic updates; the persistence context is left
+    // intact so the comment being saved stays attached
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.commentCount = t.commentCount + 1, t.lastActivityAt = :now WHERE t.id = :ticketId")
+    int recordCommentAdded(@Param("ticketId") Long ticketId,
+                           @Param("now") LocalDateTime now);
 
-    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.assignedTo.id = :userId AND t.status != 'CLOSED'")
-    long countActiveTicketsByAssignedTo(@Param("userId") Long userId);
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ticket t SET t.commentCount = CASE WHEN t.commentCount > 0 THEN t.commentCount - 1 ELSE 0 END, " +
+           "t.lastActivityAt = :now WHERE t.id = :ticketId")
+    int recordCommentRemoved(@Param("ticketId") Long ticketId,
+                             @Param("now") LocalDateTime now);
 }
@@ -1,10 +1,15 @@
 package com.example.helpdesk.repository;
 
+import com.example.helpdesk.dto.AgentOptionDto;
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.UserStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     List<User> findByStatus(UserStatus status);
     List<User> findByRoles_Name(String roleName);
+
+    // Pick-list projections: id, username and full name only, no entity or role loading
+    @Query("SELECT DISTINCT new com.example.helpdesk.dto.AgentOptionDto(u.id, u.username, " +
+           "TRIM(CONCAT(COALESCE(u.firstName, ''), ' ', COALESCE(u.lastName, '')))) " +
+           "FROM User u JOIN u.roles r " +
+           "WHERE r.name IN :roleNames AND u.status = :status " +
+           "ORDER BY u.username")
+    List<AgentOptionDto> findAgentOptions(@Param("roleNames") Collection<String> roleNames,
+                                          @Param("status") UserStatus status);
+
+    @Query("SELECT DISTINCT new com.example.helpdesk.dto.AgentOptionDto(u.id, u.username, " +
+           "TRIM(CONCAT(COALESCE(u.firstName, ''), ' ', COALESCE(u.lastName, '')))) " +
+           "FROM User u JOIN u.roles r " +
+           "WHERE r.name IN :roleNames AND u.status = :status " +
+           "AND (LOWER(u.username) LIKE :prefix ESCAPE '\\' " +
+           "OR LOWER(u.firstName) LIKE :prefix ESCAPE '\\' " +
+           "OR LOWER(u.lastName) LIKE :prefix ESCAPE '\\') " +
+           "ORDER BY u.username")
+    List<AgentOptionDto> searchAgentOptions(@Param("roleNames") Collection<String> roleNames,
+                                            @Param("status") UserStatus status,
+                                            @Param("prefix") String prefix,
+                                            Pageable pageable);
+
+    @Query("SELECT new com.example.helpdesk.dto.AgentOptionDto(u.id, u.username, " +
+           "TRIM(CONCAT(COALESCE(u.firstName, ''), ' ', COALESCE(u.lastName, '')))) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<AgentOptionDto> findAgentOptionById(@Param("id") Long id);
 }
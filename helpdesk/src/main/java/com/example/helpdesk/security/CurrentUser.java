@@ -0,0 +1,15 @@
+package com.example.helpdesk.security;
+
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+
+import java.lang.annotation.*;
+
+/**
+ * Injects the logged-in {@link HelpdeskUserDetails} into a handler parameter.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@AuthenticationPrincipal
+public @interface CurrentUser {
+}
@@ -0,0 +1,48 @@
+package com.example.helpdesk.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal carrying the identifiers and role flags handlers need,
+ * resolved once at login and kept in the security context for the rest of the
+ * session. Controllers receive it through {@link CurrentUser} instead of re-loading
+ * the user by name or scanning the authorities.
+ */
+@Getter
+public class HelpdeskUserDetails extends User {
+
+    private final Long id;
+    private final Long departmentId;
+    private final int roleMask;
+
+    public HelpdeskUserDetails(Long id, Long departmentId, String username, String password,
+                               Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.departmentId = departmentId;
+        this.roleMask = RoleMask.of(authorities);
+    }
+
+    public boolean isAdmin() {
+        return (roleMask & RoleMask.ADMIN) != 0;
+    }
+
+    public boolean isAgent() {
+        return (roleMask & RoleMask.AGENT) != 0;
+    }
+
+    /**
+     * True for plain users, who may only see and search their own tickets.
+     */
+    public boolean isRegularUser() {
+        return (roleMask & (RoleMask.ADMIN | RoleMask.AGENT)) == 0;
+    }
+
+    public HelpdeskUserDetails copy() {
+        return new HelpdeskUserDetails(id, departmentId, getUsername(), getPassword(), getAuthorities());
+    }
+}
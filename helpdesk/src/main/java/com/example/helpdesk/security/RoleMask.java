@@ -0,0 +1,39 @@
+package com.example.helpdesk.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Bit flags for the application roles, computed once from the granted authorities
+ * so request handlers test an int instead of scanning authority strings.
+ */
+public final class RoleMask {
+
+    public static final int USER = 1;
+    public static final int AGENT = 1 << 1;
+    public static final int ADMIN = 1 << 2;
+
+    private RoleMask() {
+    }
+
+    public static int of(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            mask |= of(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    public static int of(String roleName) {
+        if (roleName == null) {
+            return 0;
+        }
+        return switch (roleName) {
+            case "ROLE_USER" -> USER;
+            case "ROLE_AGENT" -> AGENT;
+            case "ROLE_ADMIN" -> ADMIN;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.helpdesk.security;
+
+import com.example.helpdesk.dto.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache of loaded users in front of CustomUserDetailsService.
+ * Entries are evicted least-recently-used once {@code max-size} is reached and must
+ * be invalidated explicitly whenever a user's password, roles or status change.
+ * <p>
+ * Callers always receive a copy, because Spring Security erases the credentials
+ * of the principal after a successful login.
+ */
+@Component
+public class TtlUserCache implements UserCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TtlUserCache(@Value("${helpdesk.security.user-cache.ttl:PT5M}") Duration ttl,
+                        @Value("${helpdesk.security.user-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry != null && entry.isExpired()) {
+                entries.remove(username);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return copy(entry.user);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        Entry entry = new Entry(copy(user), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(user.getUsername(), entry);
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    public CacheStatsDto getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStatsDto.builder()
+                .size(size)
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .build();
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        if (user instanceof HelpdeskUserDetails details) {
+            return details.copy();
+        }
+        return User.withUserDetails(user).build();
+    }
+
+    private static final class Entry {
+        private final UserDetails user;
+        private final long expiresAt;
+
+        private Entry(UserDetails user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.helpdesk.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store for ticket attachments. Files are named by the
+ * SHA-256 of their bytes ({@code ab/cd/abcd...}), so identical uploads are kept once.
+ * Uploads are streamed to a temporary file while being hashed ({@link #stage}) and
+ * then moved into place atomically ({@link #publish}); readers never see a partially
+ * written file. Callers serialise publishing and deleting per content hash.
+ */
+@Component
+public class AttachmentStore {
+
+    private final Path root;
+    private final Path incoming;
+
+    public AttachmentStore(@Value("${helpdesk.attachments.dir:data/attachments}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    /**
+     * Copies the stream into a temporary file and hashes it. The caller keeps
+     * ownership of {@code content} and closes the staged file when done.
+     */
+    public StagedFile stage(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+            return new StagedFile(temp, hash, relativePath, size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves staged content into place unless identical content is already stored.
+     *
+     * @return false when the content was already present
+     */
+    public boolean publish(StagedFile staged) throws IOException {
+        Path target = root.resolve(staged.getRelativePath());
+        if (Files.exists(target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(staged.temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || path.startsWith(incoming)) {
+            throw new IllegalArgumentException("Invalid attachment path: " + relativePath);
+        }
+        return path;
+    }
+
+    public void delete(String relativePath) throws IOException {
+        Files.deleteIfExists(resolve(relativePath));
+    }
+
+    /**
+     * Writes {@code count} bytes starting at {@code position} using
+     * {@link FileChannel#transferTo}, which lets the kernel copy file pages
+     * without staging them in a Java buffer where the target allows it.
+     */
+    public static void transfer(Path path, long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static final class StagedFile implements Closeable {
+        @Getter(AccessLevel.NONE)
+        private final Path temp;
+        private final String contentHash;
+        private final String relativePath;
+        private final long size;
+
+        StagedFile(Path temp, String contentHash, String relativePath, long size) {
+            this.temp = temp;
+            this.contentHash = contentHash;
+            this.relativePath = relativePath;
+            this.size = size;
+        }
+
+        // Drops the temporary copy; a no-op once it has been published
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
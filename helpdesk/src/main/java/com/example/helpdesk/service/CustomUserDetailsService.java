@@ -3,6 +3,7 @@ package com.example.helpdesk.service;
 import com.example.helpdesk.entity.Role;
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.repository.UserRepository;
+import com.example.helpdesk.security.HelpdeskUserDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -27,7 +28,9 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new HelpdeskUserDetails(
+                user.getId(),
+                user.getDepartment() != null ? user.getDepartment().getId() : null,
                 user.getUsername(),
                 user.getPassword(),
                 mapRolesToAuthorities(user.getRoles())
@@ -1,7 +1,7 @@
 package com.example.helpdesk.service;
 
 import com.example.helpdesk.dto.DashboardStatsDto;
-import com.example.helpdesk.entity.User;
+import com.example.helpdesk.dto.TicketCountDto;
 import com.example.helpdesk.enums.TicketPriority;
 import com.example.helpdesk.enums.TicketStatus;
 import com.example.helpdesk.repository.TicketRepository;
@@ -9,41 +9,66 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final TicketRepository ticketRepository;
-    private final UserService userService;
+    private final TicketCounterStore counterStore;
 
     @Transactional(readOnly = true)
-    public DashboardStatsDto getDashboardStats(String username, boolean isUserRole) {
-        User user = userService.getUserByUsername(username);
+    public DashboardStatsDto getDashboardStats(Long userId, boolean isUserRole) {
+        if (counterStore.isReady()) {
+            // Served from the in-memory counters, no ticket query needed
+            if (isUserRole) {
+                return aggregate(counterStore.getCreatorCounts(userId));
+            }
+            DashboardStatsDto stats = aggregate(counterStore.getGlobalCounts());
+            stats.setMyAssignedTickets(counterStore.getActiveAssignedCount(userId));
+            return stats;
+        }
 
         if (isUserRole) {
             // For regular users, show only their own ticket statistics
-            return DashboardStatsDto.builder()
-                    .totalTickets(ticketRepository.countByCreatedBy_Id(user.getId()))
-                    .openTickets(ticketRepository.countByCreatedBy_IdAndStatus(user.getId(), TicketStatus.OPEN))
-                    .inProgressTickets(ticketRepository.countByCreatedBy_IdAndStatus(user.getId(), TicketStatus.IN_PROGRESS))
-                    .resolvedTickets(ticketRepository.countByCreatedBy_IdAndStatus(user.getId(), TicketStatus.RESOLVED))
-                    .closedTickets(ticketRepository.countByCreatedBy_IdAndStatus(user.getId(), TicketStatus.CLOSED))
-                    .urgentTickets(ticketRepository.countByCreatedBy_IdAndPriority(user.getId(), TicketPriority.URGENT))
-                    .highPriorityTickets(ticketRepository.countByCreatedBy_IdAndPriority(user.getId(), TicketPriority.HIGH))
-                    .myAssignedTickets(0L) // Users don't get tickets assigned to them
-                    .build();
+            return aggregate(ticketRepository.countByCreatorGroupedByStatusAndPriority(userId));
         } else {
             // For agents and admins, show all tickets statistics
-            return DashboardStatsDto.builder()
-                    .totalTickets(ticketRepository.count())
-                    .openTickets(ticketRepository.countByStatus(TicketStatus.OPEN))
-                    .inProgressTickets(ticketRepository.countByStatus(TicketStatus.IN_PROGRESS))
-                    .resolvedTickets(ticketRepository.countByStatus(TicketStatus.RESOLVED))
-                    .closedTickets(ticketRepository.countByStatus(TicketStatus.CLOSED))
-                    .urgentTickets(ticketRepository.countByPriority(TicketPriority.URGENT))
-                    .highPriorityTickets(ticketRepository.countByPriority(TicketPriority.HIGH))
-                    .myAssignedTickets(ticketRepository.countActiveTicketsByAssignedTo(user.getId()))
-                    .build();
+            return aggregate(ticketRepository.countGroupedByStatusAndPriority(userId));
+        }
+    }
+
+    /**
+     * Folds the grouped status/priority rows into the dashboard counters.
+     * There are at most |status| x |priority| rows, so this is constant work.
+     */
+    private DashboardStatsDto aggregate(List<TicketCountDto> rows) {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        for (TicketCountDto row : rows) {
+            long count = row.getCount() != null ? row.getCount() : 0L;
+            stats.setTotalTickets(stats.getTotalTickets() + count);
+
+            if (row.getStatus() == TicketStatus.OPEN) {
+                stats.setOpenTickets(stats.getOpenTickets() + count);
+            } else if (row.getStatus() == TicketStatus.IN_PROGRESS) {
+                stats.setInProgressTickets(stats.getInProgressTickets() + count);
+            } else if (row.getStatus() == TicketStatus.RESOLVED) {
+                stats.setResolvedTickets(stats.getResolvedTickets() + count);
+            } else if (row.getStatus() == TicketStatus.CLOSED) {
+                stats.setClosedTickets(stats.getClosedTickets() + count);
+            }
+
+            if (row.getPriority() == TicketPriority.URGENT) {
+                stats.setUrgentTickets(stats.getUrgentTickets() + count);
+            } else if (row.getPriority() == TicketPriority.HIGH) {
+                stats.setHighPriorityTickets(stats.getHighPriorityTickets() + count);
+            }
+
+            if (row.getAssignedActiveCount() != null) {
+                stats.setMyAssignedTickets(stats.getMyAssignedTickets() + row.getAssignedActiveCount());
+            }
         }
+        return stats;
     }
 }
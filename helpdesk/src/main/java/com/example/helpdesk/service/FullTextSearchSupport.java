@@ -0,0 +1,47 @@
+package com.example.helpdesk.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detects the tsvector column and GIN index used for ranked keyword search
+ * (created by migration V2). When they are missing or the feature is disabled,
+ * searches keep using the LIKE queries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FullTextSearchSupport {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${helpdesk.search.full-text.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available;
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectSchema() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer columns = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_name = 'tickets' AND column_name = 'search_vector'", Integer.class);
+            available = columns != null && columns > 0;
+        } catch (Exception e) {
+            log.warn("Could not inspect schema for full-text search: {}", e.getMessage());
+        }
+        log.info("Full-text ticket search {}", available ? "enabled" : "unavailable, using LIKE search");
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.OutboxStatsDto;
+import com.example.helpdesk.entity.OutboxEvent;
+import com.example.helpdesk.event.DispatchedTicketEvent;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers outbox rows to in-process listeners as {@link DispatchedTicketEvent}s.
+ * <p>
+ * A single virtual thread claims batches with {@code FOR UPDATE SKIP LOCKED}, so
+ * several application instances can dispatch side by side without delivering the
+ * same row twice concurrently. Claimed events queued behind an earlier event of the
+ * same ticket that another instance holds are left for a later batch. Within a
+ * batch each ticket's events are delivered in offset order, which is that ticket's
+ * commit order (see TicketEventOutbox), on their own virtual thread; different
+ * tickets run in parallel and are not ordered relative to each other.
+ * Rows are marked delivered in the claiming transaction, so a crash before commit
+ * means redelivery (at least once). A failing event is retried up to
+ * {@code max-attempts} times and the ticket's later events wait behind it; once
+ * its attempts are exhausted it is parked and the ticket's later events go ahead.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxRepository;
+    private final TicketEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService deliveries = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration pollInterval;
+    private final Duration retention;
+
+    private volatile boolean running;
+    private Thread loop;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepository,
+                            TicketEventOutbox outbox,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${helpdesk.outbox.enabled:true}") boolean enabled,
+                            @Value("${helpdesk.outbox.batch-size:100}") int batchSize,
+                            @Value("${helpdesk.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${helpdesk.outbox.poll-interval:PT1S}") Duration pollInterval,
+                            @Value("${helpdesk.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        loop = Thread.ofVirtual().name("outbox-dispatcher").start(this::run);
+        log.info("Outbox dispatcher started (batch size {}, poll interval {})", batchSize, pollInterval);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (loop != null) {
+            loop.interrupt();
+            loop.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        deliveries.shutdownNow();
+    }
+
+    /**
+     * Wakes the dispatcher as soon as a transaction with ticket events commits,
+     * instead of waiting for the next poll.
+     */
+    @TransactionalEventListener
+    public void onCommitted(TicketChangedEvent event) {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    /**
+     * Makes every retained event from {@code offset} on pending again, including
+     * ones that exhausted their attempts. Returns the number of events queued.
+     * Offsets are only ordered per ticket, so a consumer resuming from the last
+     * offset it processed should replay from somewhat earlier and rely on
+     * idempotence rather than assume nothing below that offset is missing.
+     */
+    public int replayFrom(long offset) {
+        Integer reset = transactionTemplate.execute(status -> outboxRepository.resetFrom(offset));
+        wakeUps.release();
+        log.info("Outbox replay from offset {}: {} events queued", offset, reset);
+        return reset != null ? reset : 0;
+    }
+
+    public OutboxStatsDto getStats() {
+        return OutboxStatsDto.builder()
+                .pending(outboxRepository.countPending(maxAttempts))
+                .failed(outboxRepository.countFailed(maxAttempts))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${helpdesk.outbox.purge-interval:PT1H}")
+    public void purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteDispatchedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered outbox events older than {}", purged, cutoff);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int delivered;
+            try {
+                delivered = dispatchBatch();
+            } catch (RuntimeException e) {
+                log.warn("Outbox dispatch failed", e);
+                delivered = 0;
+            }
+            // A full batch means there is probably more; otherwise wait for a commit or the poll interval
+            if (delivered < batchSize) {
+                try {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxRepository.lockPendingBatch(maxAttempts, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Map<Long, List<OutboxEvent>> byTicket = new LinkedHashMap<>();
+            for (OutboxEvent row : batch) {
+                byTicket.computeIfAbsent(row.getAggregateId(), id -> new ArrayList<>()).add(row);
+            }
+            holdBackBehindUnclaimed(byTicket, batch);
+
+            List<Long> delivered = Collections.synchronizedList(new ArrayList<>(batch.size()));
+            List<Long> failed = Collections.synchronizedList(new ArrayList<>());
+            List<Future<?>> tickets = new ArrayList<>(byTicket.size());
+            for (List<OutboxEvent> events : byTicket.values()) {
+                tickets.add(deliveries.submit(() -> {
+                    for (OutboxEvent row : events) {
+                        if (!deliver(row)) {
+                            // Later events of this ticket stay pending to preserve order
+                            failed.add(row.getId());
+                            return;
+                        }
+                        delivered.add(row.getId());
+                    }
+                }));
+            }
+            for (Future<?> ticket : tickets) {
+                try {
+                    ticket.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    log.warn("Outbox delivery task failed", e.getCause());
+                }
+            }
+
+            if (!delivered.isEmpty()) {
+                outboxRepository.markDispatched(delivered, LocalDateTime.now());
+            }
+            if (!failed.isEmpty()) {
+                outboxRepository.recordFailedAttempt(failed);
+            }
+            return delivered.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Drops claimed events that an unclaimed, earlier event of the same ticket
+     * must precede; they stay pending and are claimed again once it is delivered.
+     */
+    private void holdBackBehindUnclaimed(Map<Long, List<OutboxEvent>> byTicket, List<OutboxEvent> batch) {
+        List<Long> claimedIds = batch.stream().map(OutboxEvent::getId).toList();
+        for (Object[] row : outboxRepository.findEarliestUnclaimed(byTicket.keySet(), claimedIds, maxAttempts)) {
+            long earliest = ((Number) row[1]).longValue();
+            byTicket.get((Long) row[0]).removeIf(event -> event.getId() > earliest);
+        }
+    }
+
+    private boolean deliver(OutboxEvent row) {
+        try {
+            eventPublisher.publishEvent(new DispatchedTicketEvent(row.getId(), outbox.read(row)));
+            return true;
+        } catch (Exception e) {
+            log.warn("Delivery of outbox event {} ({} on ticket {}) failed, attempt {}",
+                    row.getId(), row.getEventType(), row.getAggregateId(), row.getAttempts() + 1, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.AgentOptionDto;
+import com.example.helpdesk.dto.DepartmentDto;
+import com.example.helpdesk.entity.Role;
+import com.example.helpdesk.enums.UserStatus;
+import com.example.helpdesk.mapper.DepartmentMapper;
+import com.example.helpdesk.repository.DepartmentRepository;
+import com.example.helpdesk.repository.RoleRepository;
+import com.example.helpdesk.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-mostly lists rendered by the ticket, profile, registration and admin forms.
+ * Each list is loaded on first use and kept until it is invalidated; a version
+ * counter makes sure a load that raced with an invalidation is never installed.
+ * Invalidations requested inside a transaction take effect after it commits, so a
+ * concurrent load cannot re-cache the rows as they were before the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    static final List<String> ASSIGNABLE_ROLES = List.of("ROLE_AGENT", "ROLE_ADMIN");
+
+    private final DepartmentRepository departmentRepository;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final DepartmentMapper departmentMapper;
+
+    private final Entry<List<DepartmentDto>> departments = new Entry<>();
+    private final Entry<List<String>> roleNames = new Entry<>();
+    private final Entry<List<AgentOptionDto>> agents = new Entry<>();
+
+    public List<DepartmentDto> getDepartments() {
+        return departments.get(() -> List.copyOf(departmentMapper.toDtoList(departmentRepository.findAll())));
+    }
+
+    public List<String> getRoleNames() {
+        return roleNames.get(() -> roleRepository.findAll().stream()
+                .map(Role::getName)
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * Active agents and admins, ordered by username.
+     */
+    public List<AgentOptionDto> getAssignableAgents() {
+        return agents.get(this::loadAssignableAgents);
+    }
+
+    public void invalidateDepartments() {
+        invalidateAfterCommit(departments);
+    }
+
+    public void invalidateRoles() {
+        invalidateAfterCommit(roleNames);
+    }
+
+    public void invalidateAgents() {
+        invalidateAfterCommit(agents);
+    }
+
+    private static void invalidateAfterCommit(Entry<?> entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entry.invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entry.invalidate();
+            }
+        });
+    }
+
+    private List<AgentOptionDto> loadAssignableAgents() {
+        return List.copyOf(userRepository.findAgentOptions(ASSIGNABLE_ROLES, UserStatus.ACTIVE));
+    }
+
+    private static final class Entry<T> {
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicReference<Versioned<T>> current = new AtomicReference<>();
+
+        T get(Supplier<T> loader) {
+            Versioned<T> cached = current.get();
+            long expected = version.get();
+            if (cached != null && cached.version == expected) {
+                return cached.value;
+            }
+            Versioned<T> loaded = new Versioned<>(expected, loader.get());
+            // Only install if nothing was invalidated while loading
+            if (version.get() == expected) {
+                current.compareAndSet(cached, loaded);
+            }
+            return loaded.value;
+        }
+
+        void invalidate() {
+            version.incrementAndGet();
+            current.set(null);
+        }
+    }
+
+    private static final class Versioned<T> {
+        private final long version;
+        private final T value;
+
+        private Versioned(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
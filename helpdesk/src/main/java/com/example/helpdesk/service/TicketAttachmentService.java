@@ -0,0 +1,210 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.TicketAttachmentDto;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.TicketAttachment;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.repository.TicketAttachmentRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.repository.UserRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TicketAttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final TicketAttachmentRepository attachmentRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketAttachmentService(TicketAttachmentRepository attachmentRepository,
+                                   TicketRepository ticketRepository,
+                                   UserRepository userRepository,
+                                   AttachmentStore attachmentStore,
+                                   PlatformTransactionManager transactionManager) {
+        this.attachmentRepository = attachmentRepository;
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.attachmentStore = attachmentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Also used from afterCommit callbacks, where the finished transaction is still bound
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Stores the upload and records it on the ticket. The file is hashed into a
+     * temporary copy before any database work, so no transaction is held open
+     * during the copy; it is published and recorded under the content lock.
+     */
+    public TicketAttachmentDto addAttachment(Long ticketId, Long userId, boolean isRegularUser,
+                                             String fileName, String fileType, InputStream content) throws IOException {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        checkAccess(ticket, userId, isRegularUser);
+        User uploader = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try (AttachmentStore.StagedFile staged = attachmentStore.stage(content)) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    lockContent(staged.getContentHash());
+                    try {
+                        attachmentStore.publish(staged);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    TicketAttachment attachment = TicketAttachment.builder()
+                            .fileName(cleanFileName(fileName))
+                            .fileType(fileType)
+                            .fileSize(staged.getSize())
+                            .filePath(staged.getRelativePath())
+                            .contentHash(staged.getContentHash())
+                            .ticket(ticket)
+                            .uploadedBy(uploader)
+                            .build();
+                    return toDto(attachmentRepository.save(attachment));
+                });
+            } catch (RuntimeException e) {
+                deleteIfUnreferenced(staged.getContentHash(), staged.getRelativePath());
+                if (e instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketAttachmentDto> getAttachments(Long ticketId, Long userId, boolean isRegularUser) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        checkAccess(ticket, userId, isRegularUser);
+        return attachmentRepository.findByTicket_IdOrderByUploadedAtDesc(ticketId)
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Attachment metadata plus the location of its content, for downloads.
+     */
+    @Transactional(readOnly = true)
+    public Content getContent(Long attachmentId, Long userId, boolean isRegularUser) {
+        TicketAttachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+        checkAccess(attachment.getTicket(), userId, isRegularUser);
+        return new Content(toDto(attachment), attachmentStore.resolve(attachment.getFilePath()));
+    }
+
+    @Transactional
+    public void deleteAttachment(Long attachmentId, Long userId, boolean isAdmin) {
+        TicketAttachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new RuntimeException("Attachment not found"));
+
+        // Only the uploader or an admin may remove an attachment
+        if (!isAdmin && !attachment.getUploadedBy().getId().equals(userId)) {
+            throw new AccessDeniedException("You don't have permission to delete this attachment");
+        }
+
+        attachmentRepository.delete(attachment);
+        String contentHash = attachment.getContentHash();
+        String filePath = attachment.getFilePath();
+        // Remove the file only once the row is really gone
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteIfUnreferenced(contentHash, filePath);
+            }
+        });
+    }
+
+    private void deleteIfUnreferenced(String contentHash, String relativePath) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The file is shared by every attachment with the same content
+                if (contentHash != null) {
+                    lockContent(contentHash);
+                    if (attachmentRepository.countByContentHash(contentHash) > 0) {
+                        return;
+                    }
+                }
+                try {
+                    attachmentStore.delete(relativePath);
+                } catch (IOException e) {
+                    log.warn("Could not delete attachment file {}", relativePath, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not check references to attachment file {}", relativePath, e);
+        }
+    }
+
+    /**
+     * Serialises uploads and deletions of the same content, so a file is never
+     * removed between an upload finding it present and its row being committed.
+     */
+    private void lockContent(String contentHash) {
+        attachmentRepository.lockContent(Long.parseUnsignedLong(contentHash.substring(0, 16), 16));
+    }
+
+    private static void checkAccess(Ticket ticket, Long userId, boolean isRegularUser) {
+        // Regular users only see attachments of their own tickets
+        if (isRegularUser && !ticket.getCreatedBy().getId().equals(userId)) {
+            throw new AccessDeniedException("You don't have access to this ticket");
+        }
+    }
+
+    private static String cleanFileName(String fileName) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName != null ? fileName : ""));
+        if (!StringUtils.hasText(name)) {
+            name = "attachment";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    @Getter
+    public static final class Content {
+        private final TicketAttachmentDto attachment;
+        private final Path path;
+
+        private Content(TicketAttachmentDto attachment, Path path) {
+            this.attachment = attachment;
+            this.path = path;
+        }
+    }
+
+    private TicketAttachmentDto toDto(TicketAttachment attachment) {
+        return TicketAttachmentDto.builder()
+                .id(attachment.getId())
+                .fileName(attachment.getFileName())
+                .fileType(attachment.getFileType())
+                .fileSize(attachment.getFileSize())
+                .contentHash(attachment.getContentHash())
+                .uploadedAt(attachment.getUploadedAt())
+                .ticketId(attachment.getTicket().getId())
+                .uploadedById(attachment.getUploadedBy().getId())
+                .uploadedByUsername(attachment.getUploadedBy().getUsername())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.event.DispatchedTicketEvent;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the ticket lifecycle to the {@code helpdesk.audit} log from the outbox,
+ * outside the request and its transaction. Redeliveries log the same offset again.
+ */
+@Slf4j(topic = "helpdesk.audit")
+@Component
+public class TicketAuditLog {
+
+    @EventListener
+    public void onTicketEvent(DispatchedTicketEvent dispatched) {
+        TicketChangedEvent event = dispatched.getEvent();
+        TicketSnapshot before = event.getBefore();
+        TicketSnapshot after = event.getAfter();
+        log.info("offset={} ticket={} type={} at={} status={}->{} assignee={}->{} department={}->{}",
+                dispatched.getOffset(), event.getTicketId(), event.getType(), event.getOccurredAt(),
+                before != null ? before.getStatus() : null, after != null ? after.getStatus() : null,
+                before != null ? before.getAssignedToId() : null, after != null ? after.getAssignedToId() : null,
+                before != null ? before.getDepartmentId() : null, after != null ? after.getDepartmentId() : null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.helpdesk.service;
+
+/**
+ * Thrown when a ticket is claimed after another agent has already taken it.
+ */
+public class TicketClaimConflictException extends RuntimeException {
+
+    private final Long ticketId;
+
+    public TicketClaimConflictException(Long ticketId, String assignedToUsername) {
+        super(assignedToUsername != null
+                ? "Ticket is already assigned to " + assignedToUsername
+                : "Ticket " + ticketId + " was claimed by another agent");
+        this.ticketId = ticketId;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+}
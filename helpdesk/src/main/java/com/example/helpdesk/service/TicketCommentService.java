@@ -1,16 +1,25 @@
 package com.example.helpdesk.service;
 
+import com.example.helpdesk.dto.CursorPageDto;
+import com.example.helpdesk.dto.KeysetCursor;
 import com.example.helpdesk.dto.TicketCommentDto;
 import com.example.helpdesk.entity.Ticket;
 import com.example.helpdesk.entity.TicketComment;
 import com.example.helpdesk.entity.User;
+import com.example.helpdesk.event.CommentChangeType;
+import com.example.helpdesk.event.TicketCommentEvent;
+import com.example.helpdesk.event.TicketSnapshot;
 import com.example.helpdesk.repository.TicketCommentRepository;
 import com.example.helpdesk.repository.TicketRepository;
 import com.example.helpdesk.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,9 +27,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TicketCommentService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TicketCommentRepository commentRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<TicketCommentDto> getCommentsByTicketId(Long ticketId) {
@@ -30,12 +43,45 @@ public class TicketCommentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of a ticket's comment thread, newest first. Pass the returned
+     * cursor back to load older comments.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<TicketCommentDto> getCommentPage(Long ticketId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether older comments exist
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        KeysetCursor position = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+
+        List<TicketCommentDto> comments = position == null
+                ? commentRepository.findCommentPage(ticketId, window)
+                : commentRepository.findCommentPageBefore(ticketId, position.getCreatedAt(), position.getId(), window);
+
+        boolean hasMore = comments.size() > pageSize;
+        if (hasMore) {
+            comments = comments.subList(0, pageSize);
+        }
+        TicketCommentDto last = comments.isEmpty() ? null : comments.get(comments.size() - 1);
+
+        return CursorPageDto.<TicketCommentDto>builder()
+                .items(comments)
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional
-    public TicketCommentDto addComment(Long ticketId, String username, String content) {
-        Ticket ticket = ticketRepository.findById(ticketId)
+    public TicketCommentDto addComment(Long ticketId, Long userId, String content) {
+        // The counter update doubles as the existence check and locks the ticket row
+        if (ticketRepository.recordCommentAdded(ticketId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Ticket not found");
+        }
+        Ticket ticket = ticketRepository.getReferenceById(ticketId);
+        User user = userRepository.getReferenceById(userId);
+        // Read after the update, so the routing fields are those of the locked row
+        TicketSnapshot routing = ticketRepository.findSnapshotById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         TicketComment comment = TicketComment.builder()
                 .content(content)
@@ -44,27 +90,32 @@ public class TicketCommentService {
                 .build();
 
         TicketComment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new TicketCommentEvent(CommentChangeType.ADDED,
+                ticketId, savedComment.getId(), userId, content,
+                routing.getDepartmentId(), routing.getAssignedToId(), routing.getPriority()));
         return toDto(savedComment);
     }
 
     @Transactional
-    public void deleteComment(Long commentId, String username, boolean isAdmin) {
+    public void deleteComment(Long commentId, Long userId, boolean isAdmin) {
         TicketComment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
 
         // Only allow deletion if user is admin or comment owner
-        if (!isAdmin && !comment.getUser().getUsername().equals(username)) {
+        if (!isAdmin && !comment.getUser().getId().equals(userId)) {
             throw new RuntimeException("You don't have permission to delete this comment");
         }
 
+        Ticket ticket = comment.getTicket();
         commentRepository.delete(comment);
+        ticketRepository.recordCommentRemoved(ticket.getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(new TicketCommentEvent(CommentChangeType.DELETED,
+                ticket.getId(), comment.getId(), comment.getUser().getId(), null,
+                ticket.getDepartment() != null ? ticket.getDepartment().getId() : null,
+                ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null,
+                ticket.getPriority()));
     }
 
-//    @Transactional(readOnly = true)
-//    public long getCommentCountByTicketId(Long ticketId) {
-//        return commentRepository.countByTicket_Id(ticketId);
-//    }
-
     private TicketCommentDto toDto(TicketComment comment) {
         return TicketCommentDto.builder()
                 .id(comment.getId())
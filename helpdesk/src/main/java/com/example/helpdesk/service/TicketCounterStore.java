@@ -0,0 +1,276 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.TicketCountDto;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory ticket counters (per status/priority, per creator and per assignee)
+ * used to serve dashboard statistics without querying the tickets table.
+ * <p>
+ * Seeded once at startup, kept current from committed {@link TicketChangedEvent}s
+ * and periodically reconciled against the database. Changes that bypass
+ * TicketService (e.g. cascades when an admin deletes a user, or writes from
+ * another application instance) are picked up by the reconciliation job.
+ * <p>
+ * The reload reads one REPEATABLE READ snapshot. Tickets changed by events that
+ * commit while it runs are re-read in that same snapshot before the swap, and
+ * their counted state is replaced by the state of their latest event, so each
+ * change is counted once whether or not the snapshot saw it.
+ */
+@Slf4j
+@Component
+public class TicketCounterStore {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+    // Slot 0 of each dimension holds rows with a null status/priority
+    private static final int PRIORITY_SLOTS = PRIORITIES.length + 1;
+    private static final int CELLS = (STATUSES.length + 1) * PRIORITY_SLOTS;
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate snapshotTemplate;
+
+    @Value("${helpdesk.stats.in-memory.enabled:true}")
+    private boolean enabled;
+
+    private volatile Counters counters;
+
+    // Events committed while reconcile() is loading, settled onto the fresh counters; guarded by this
+    private List<TicketChangedEvent> pendingDuringReload;
+
+    public TicketCounterStore(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        // Both count queries and the re-read of changed tickets see the same snapshot
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public boolean isReady() {
+        return enabled && counters != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        counters = snapshotTemplate.execute(status -> loadFromDatabase());
+        log.info("Ticket counters seeded: {} tickets", counters.total());
+    }
+
+    @Scheduled(fixedDelayString = "${helpdesk.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${helpdesk.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Counters current = counters;
+        if (!enabled || current == null) {
+            return;
+        }
+        synchronized (this) {
+            pendingDuringReload = new ArrayList<>();
+        }
+        try {
+            snapshotTemplate.executeWithoutResult(status -> {
+                Counters fresh = loadFromDatabase();
+                // Held until the swap, so no event falls between the re-read and the new counters
+                synchronized (this) {
+                    settlePending(fresh);
+                    int drift = counters.diff(fresh);
+                    if (drift > 0) {
+                        log.warn("Ticket counters drifted from database ({} counters differ), reseeding", drift);
+                    }
+                    counters = fresh;
+                }
+            });
+        } finally {
+            synchronized (this) {
+                pendingDuringReload = null;
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot's state of every ticket changed during the reload with the
+     * state after its latest event. The snapshot may or may not include any given one of
+     * those commits; re-reading the ticket in the same snapshot tells which state it counted.
+     */
+    private void settlePending(Counters fresh) {
+        Map<Long, TicketChangedEvent> latest = new LinkedHashMap<>();
+        for (TicketChangedEvent event : pendingDuringReload) {
+            latest.put(event.getTicketId(), event);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        for (TicketSnapshot counted : ticketRepository.findSnapshotsByIdIn(latest.keySet())) {
+            fresh.add(counted, -1);
+        }
+        for (TicketChangedEvent event : latest.values()) {
+            if (event.getAfter() != null) {
+                fresh.add(event.getAfter(), 1);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTicketChanged(TicketChangedEvent event) {
+        Counters current = counters;
+        if (current == null) {
+            return;
+        }
+        current.apply(event);
+        if (pendingDuringReload != null) {
+            pendingDuringReload.add(event);
+        }
+    }
+
+    public List<TicketCountDto> getGlobalCounts() {
+        return toRows(counters.global);
+    }
+
+    public List<TicketCountDto> getCreatorCounts(Long userId) {
+        AtomicLongArray cells = counters.byCreator.get(userId);
+        return cells != null ? toRows(cells) : List.of();
+    }
+
+    public long getActiveAssignedCount(Long userId) {
+        AtomicLong count = counters.activeByAssignee.get(userId);
+        return count != null ? count.get() : 0L;
+    }
+
+    private Counters loadFromDatabase() {
+        Counters loaded = new Counters();
+        for (Object[] row : ticketRepository.countGroupedByCreatorStatusAndPriority()) {
+            loaded.add((Long) row[0], (TicketStatus) row[1], (TicketPriority) row[2], (Long) row[3]);
+        }
+        for (Object[] row : ticketRepository.countActiveGroupedByAssignee()) {
+            loaded.activeByAssignee.put((Long) row[0], new AtomicLong((Long) row[1]));
+        }
+        return loaded;
+    }
+
+    private static List<TicketCountDto> toRows(AtomicLongArray cells) {
+        List<TicketCountDto> rows = new ArrayList<>();
+        for (int i = 0; i < CELLS; i++) {
+            long count = cells.get(i);
+            if (count != 0) {
+                int statusSlot = i / PRIORITY_SLOTS;
+                int prioritySlot = i % PRIORITY_SLOTS;
+                rows.add(new TicketCountDto(
+                        statusSlot == 0 ? null : STATUSES[statusSlot - 1],
+                        prioritySlot == 0 ? null : PRIORITIES[prioritySlot - 1],
+                        count,
+                        0L));
+            }
+        }
+        return rows;
+    }
+
+    private static int cell(TicketStatus status, TicketPriority priority) {
+        int statusSlot = status == null ? 0 : status.ordinal() + 1;
+        int prioritySlot = priority == null ? 0 : priority.ordinal() + 1;
+        return statusSlot * PRIORITY_SLOTS + prioritySlot;
+    }
+
+    private static final class Counters {
+        private final AtomicLongArray global = new AtomicLongArray(CELLS);
+        private final ConcurrentMap<Long, AtomicLongArray> byCreator = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, AtomicLong> activeByAssignee = new ConcurrentHashMap<>();
+
+        void apply(TicketChangedEvent event) {
+            if (event.getBefore() != null) {
+                add(event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                add(event.getAfter(), 1);
+            }
+        }
+
+        void add(TicketSnapshot ticket, long delta) {
+            add(ticket.getCreatedById(), ticket.getStatus(), ticket.getPriority(), delta);
+            if (ticket.getAssignedToId() != null && ticket.getStatus() != TicketStatus.CLOSED) {
+                activeByAssignee.computeIfAbsent(ticket.getAssignedToId(), id -> new AtomicLong())
+                        .addAndGet(delta);
+            }
+        }
+
+        void add(Long creatorId, TicketStatus status, TicketPriority priority, long delta) {
+            int cell = cell(status, priority);
+            global.addAndGet(cell, delta);
+            if (creatorId != null) {
+                byCreator.computeIfAbsent(creatorId, id -> new AtomicLongArray(CELLS))
+                        .addAndGet(cell, delta);
+            }
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < CELLS; i++) {
+                total += global.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * Number of counters whose value differs from {@code other}.
+         */
+        int diff(Counters other) {
+            int drift = diffCells(global, other.global);
+
+            for (Long creatorId : union(byCreator, other.byCreator)) {
+                drift += diffCells(byCreator.get(creatorId), other.byCreator.get(creatorId));
+            }
+            for (Long assigneeId : union(activeByAssignee, other.activeByAssignee)) {
+                AtomicLong mine = activeByAssignee.get(assigneeId);
+                AtomicLong theirs = other.activeByAssignee.get(assigneeId);
+                if ((mine != null ? mine.get() : 0L) != (theirs != null ? theirs.get() : 0L)) {
+                    drift++;
+                }
+            }
+            return drift;
+        }
+
+        private static int diffCells(AtomicLongArray a, AtomicLongArray b) {
+            int drift = 0;
+            for (int i = 0; i < CELLS; i++) {
+                if ((a != null ? a.get(i) : 0L) != (b != null ? b.get(i) : 0L)) {
+                    drift++;
+                }
+            }
+            return drift;
+        }
+
+        private static List<Long> union(Map<Long, ?> a, Map<Long, ?> b) {
+            List<Long> keys = new ArrayList<>(a.keySet());
+            for (Long key : b.keySet()) {
+                if (!a.containsKey(key)) {
+                    keys.add(key);
+                }
+            }
+            return keys;
+        }
+    }
+}
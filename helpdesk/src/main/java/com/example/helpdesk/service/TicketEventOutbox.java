@@ -0,0 +1,105 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.entity.OutboxEvent;
+import com.example.helpdesk.event.TicketBulkChangedEvent;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.OutboxEventRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes every {@link TicketChangedEvent} to the outbox table inside the
+ * transaction that published it, so the event is stored if and only if the
+ * change commits. Delivery happens later in OutboxDispatcher.
+ * <p>
+ * The offset is taken only once the ticket row is locked (or, for a new ticket,
+ * before any other transaction can see it). Transactions that change the same
+ * ticket therefore get its offsets in commit order, and an earlier offset of a
+ * ticket is never still uncommitted when a later one is visible.
+ * <p>
+ * Nothing is written, and no row is locked, while {@code helpdesk.outbox.enabled}
+ * is false: without the dispatcher the rows would never be delivered or purged.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketEventOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO event_outbox (id, aggregate_id, event_type, payload, occurred_at, attempts) " +
+            "VALUES (nextval('event_outbox_seq'), ?, ?, ?, ?, 0)";
+
+    private final OutboxEventRepository outboxRepository;
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${helpdesk.outbox.enabled:true}")
+    private boolean enabled;
+
+    // Synchronous listener: runs in the publisher's thread and transaction
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TicketChangedEvent event) {
+        // Bulk events are written together by appendBulk
+        if (!enabled || event.isBulk()) {
+            return;
+        }
+        if (event.getType() != TicketChangeType.CREATED) {
+            // Flushing writes the change, which locks the row; the explicit lock covers no-op changes
+            ticketRepository.flush();
+            ticketRepository.lockRowById(event.getTicketId());
+        }
+        outboxRepository.save(OutboxEvent.builder()
+                .aggregateId(event.getTicketId())
+                .eventType(event.getType().name())
+                .payload(payload(event))
+                .occurredAt(event.getOccurredAt())
+                .build());
+    }
+
+    /**
+     * One JDBC batch for all events of a bulk operation, with the offset drawn by
+     * each INSERT, instead of a sequence call and an entity per event. Bulk
+     * updates lock their rows before publishing and imports only create tickets.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendBulk(TicketBulkChangedEvent bulk) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, bulk.getChanges(), bulk.getChanges().size(), (statement, event) -> {
+            statement.setLong(1, event.getTicketId());
+            statement.setString(2, event.getType().name());
+            statement.setString(3, payload(event));
+            statement.setObject(4, event.getOccurredAt());
+        });
+    }
+
+    TicketChangedEvent read(OutboxEvent row) throws JsonProcessingException {
+        JsonNode payload = objectMapper.readTree(row.getPayload());
+        return new TicketChangedEvent(TicketChangeType.valueOf(row.getEventType()),
+                objectMapper.treeToValue(payload.get("before"), TicketSnapshot.class),
+                objectMapper.treeToValue(payload.get("after"), TicketSnapshot.class),
+                row.getOccurredAt());
+    }
+
+    private String payload(TicketChangedEvent event) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.set("before", objectMapper.valueToTree(event.getBefore()));
+        payload.set("after", objectMapper.valueToTree(event.getAfter()));
+        return payload.toString();
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.TicketFeedEventDto;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.event.TicketBulkChangedEvent;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketCommentEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Pushes committed ticket and comment changes to agents over Server-Sent Events.
+ * <p>
+ * Publishing never blocks the committing thread and does no database work: each
+ * subscriber has a bounded queue that is drained by a small sender pool, one drain
+ * at a time per subscriber so events stay in order. A subscriber whose queue
+ * overflows is disconnected (the client's EventSource reconnects and can reload),
+ * instead of letting a slow connection hold memory or delay everyone else. Bulk
+ * operations are sent as one summary entry per subscriber, so they take a single
+ * queue slot however many tickets they touch.
+ */
+@Slf4j
+@Component
+public class TicketFeedBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    public TicketFeedBroadcaster(@Value("${helpdesk.feed.queue-capacity:256}") int queueCapacity,
+                                 @Value("${helpdesk.feed.max-subscribers:500}") int maxSubscribers,
+                                 @Value("${helpdesk.feed.timeout:PT30M}") Duration timeout,
+                                 @Value("${helpdesk.feed.sender-threads:2}") int senderThreads) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a feed; {@code null} filter values match everything.
+     *
+     * @throws IllegalStateException when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Long departmentId, Long assignedToId, TicketPriority priority) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many live feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, departmentId, assignedToId, priority, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Commit the response right away so the client sees the stream open
+        subscriber.heartbeatDue = true;
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        // Bulk operations are summarised by onBulkChanged
+        if (subscribers.isEmpty() || event.isBulk()) {
+            return;
+        }
+        TicketSnapshot ticket = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        TicketFeedEventDto dto = toDto(event.getType().name(), ticket, event.getOccurredAt());
+        // A ticket leaving a subscriber's filter is news to that subscriber too
+        publish(dto, subscriber -> subscriber.matches(event.getBefore()) || subscriber.matches(event.getAfter()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChanged(TicketBulkChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String type = "BULK_" + event.getType().name();
+        for (Subscriber subscriber : subscribers) {
+            List<Long> ticketIds = event.getChanges().stream()
+                    .filter(change -> subscriber.matches(change.getBefore()) || subscriber.matches(change.getAfter()))
+                    .map(TicketChangedEvent::getTicketId)
+                    .toList();
+            if (!ticketIds.isEmpty()) {
+                offer(subscriber, TicketFeedEventDto.builder()
+                        .type(type)
+                        .ticketIds(ticketIds)
+                        .occurredAt(event.getOccurredAt())
+                        .build());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(TicketCommentEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        TicketFeedEventDto dto = TicketFeedEventDto.builder()
+                .type("COMMENT_" + event.getType().name())
+                .ticketId(event.getTicketId())
+                .priority(event.getPriority())
+                .assignedToId(event.getAssignedToId())
+                .departmentId(event.getDepartmentId())
+                .commentId(event.getCommentId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+        publish(dto, subscriber -> subscriber.matches(event.getDepartmentId(), event.getAssignedToId(), event.getPriority()));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects dead clients.
+     */
+    @Scheduled(fixedDelayString = "${helpdesk.feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void publish(TicketFeedEventDto event, Predicate<Subscriber> audience) {
+        for (Subscriber subscriber : subscribers) {
+            if (audience.test(subscriber)) {
+                offer(subscriber, event);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, TicketFeedEventDto event) {
+        if (!subscriber.queue.offer(event)) {
+            log.info("Dropping slow live feed subscriber after {} queued events", queueCapacity);
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            TicketFeedEventDto event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event().name("ticket").data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered while the flag was still set would otherwise wait for the next publish
+        if (!subscriber.queue.isEmpty() || subscriber.heartbeatDue) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static TicketFeedEventDto toDto(String type, TicketSnapshot ticket, LocalDateTime occurredAt) {
+        return TicketFeedEventDto.builder()
+                .type(type)
+                .ticketId(ticket.getId())
+                .title(ticket.getTitle())
+                .status(ticket.getStatus())
+                .priority(ticket.getPriority())
+                .assignedToId(ticket.getAssignedToId())
+                .departmentId(ticket.getDepartmentId())
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long departmentId;
+        private final Long assignedToId;
+        private final TicketPriority priority;
+        private final Queue<TicketFeedEventDto> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Long departmentId, Long assignedToId,
+                           TicketPriority priority, int capacity) {
+            this.emitter = emitter;
+            this.departmentId = departmentId;
+            this.assignedToId = assignedToId;
+            this.priority = priority;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean matches(TicketSnapshot ticket) {
+            return ticket != null && matches(ticket.getDepartmentId(), ticket.getAssignedToId(), ticket.getPriority());
+        }
+
+        private boolean matches(Long ticketDepartmentId, Long ticketAssignedToId, TicketPriority ticketPriority) {
+            return (departmentId == null || Objects.equals(departmentId, ticketDepartmentId))
+                    && (assignedToId == null || Objects.equals(assignedToId, ticketAssignedToId))
+                    && (priority == null || priority == ticketPriority);
+        }
+    }
+}
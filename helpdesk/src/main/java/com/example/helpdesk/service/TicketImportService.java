@@ -0,0 +1,504 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.DepartmentDto;
+import com.example.helpdesk.dto.ImportResultDto;
+import com.example.helpdesk.dto.TicketCreateDto;
+import com.example.helpdesk.dto.TicketImportRowDto;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketCategory;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.event.TicketBulkChangedEvent;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.mapper.TicketMapper;
+import com.example.helpdesk.repository.DepartmentRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of tickets from CSV or NDJSON.
+ * <p>
+ * The calling thread only splits the input into records and groups them into
+ * batches; parsing, validation, de-duplication and persistence run on a small worker
+ * pool, one transaction per batch. At most {@code max-in-flight} batches are queued
+ * or running, so a fast producer blocks instead of buffering the whole stream.
+ * Records are de-duplicated on {@code externalRef}, both within the import and
+ * against tickets already stored. Within the import the lowest-numbered record
+ * with a ref is the one saved, whichever batch finishes first; its later copies
+ * count as duplicates once it commits, and are rejected if it can't be saved.
+ * A batch that fails to save is retried record by record, so one bad record
+ * doesn't take the rest of its batch down with it.
+ */
+@Slf4j
+@Service
+public class TicketImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TicketRepository ticketRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TicketMapper ticketMapper;
+    private final UserService userService;
+    private final ReferenceDataCache referenceData;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+
+    public TicketImportService(TicketRepository ticketRepository,
+                               DepartmentRepository departmentRepository,
+                               TicketMapper ticketMapper,
+                               UserService userService,
+                               ReferenceDataCache referenceData,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${helpdesk.import.batch-size:500}") int batchSize,
+                               @Value("${helpdesk.import.workers:4}") int workerCount,
+                               @Value("${helpdesk.import.max-in-flight:8}") int maxInFlightBatches) {
+        this.ticketRepository = ticketRepository;
+        this.departmentRepository = departmentRepository;
+        this.ticketMapper = ticketMapper;
+        this.userService = userService;
+        this.referenceData = referenceData;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlightBatches = Math.max(1, maxInFlightBatches);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Imports every record of the stream as a ticket created by {@code creatorId}.
+     * Returns once all batches have been committed or rejected.
+     */
+    public ImportResultDto importTickets(InputStream input, Format format, Long creatorId) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportRun run = new ImportRun(creatorId);
+        Map<String, Integer> columns = format == Format.CSV ? readHeader(reader) : null;
+
+        Semaphore inFlight = new Semaphore(maxInFlightBatches);
+        Phaser completion = new Phaser(1);
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            long firstRecord = 1;
+            String record;
+            while ((record = nextRecord(reader, format)) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    submit(run, format, columns, batch, firstRecord, inFlight, completion);
+                    firstRecord += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(run, format, columns, batch, firstRecord, inFlight, completion);
+            }
+        } finally {
+            completion.arriveAndAwaitAdvance();
+        }
+
+        ImportResultDto result = run.toResult();
+        log.info("Ticket import finished: {} received, {} created, {} duplicates, {} rejected",
+                result.getReceived(), result.getCreated(), result.getDuplicates(), result.getRejected());
+        return result;
+    }
+
+    private void submit(ImportRun run, Format format, Map<String, Integer> columns, List<String> records,
+                        long firstRecord, Semaphore inFlight, Phaser completion) throws IOException {
+        try {
+            // Back-pressure: wait for a slot before reading any further
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ticket import interrupted");
+        }
+        completion.register();
+        // Batches claim their refs in record order; the pool is FIFO, so the previous batch is already running
+        CompletableFuture<Void> previousClaims = run.lastClaims;
+        CompletableFuture<Void> claims = new CompletableFuture<>();
+        run.lastClaims = claims;
+        try {
+            workers.execute(() -> {
+                try {
+                    processBatch(run, format, columns, records, firstRecord, previousClaims, claims);
+                } catch (RuntimeException e) {
+                    log.warn("Ticket import batch starting at record {} failed", firstRecord, e);
+                    run.batchFailed(firstRecord, records.size(), e);
+                } finally {
+                    claims.complete(null);
+                    inFlight.release();
+                    completion.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            claims.complete(null);
+            inFlight.release();
+            completion.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    private void processBatch(ImportRun run, Format format, Map<String, Integer> columns, List<String> records,
+                              long firstRecord, CompletableFuture<Void> previousClaims, CompletableFuture<Void> claims) {
+        run.received.addAndGet(records.size());
+
+        List<TicketImportRowDto> valid = new ArrayList<>(records.size());
+        List<Long> validNumbers = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            long recordNumber = firstRecord + i;
+            TicketImportRowDto row;
+            try {
+                row = format == Format.CSV
+                        ? fromCsv(CsvRecords.parse(records.get(i)), columns)
+                        : objectMapper.readValue(records.get(i), TicketImportRowDto.class);
+            } catch (Exception e) {
+                run.reject(recordNumber, "unreadable record: " + e.getMessage());
+                continue;
+            }
+
+            String violation = firstViolation(row);
+            if (violation != null) {
+                run.reject(recordNumber, violation);
+            } else {
+                valid.add(row);
+                validNumbers.add(recordNumber);
+            }
+        }
+
+        List<TicketImportRowDto> rows = new ArrayList<>(valid.size());
+        List<Long> recordNumbers = new ArrayList<>(valid.size());
+        previousClaims.join();
+        for (int i = 0; i < valid.size(); i++) {
+            String ref = valid.get(i).getExternalRef();
+            if (ref == null || run.claim(ref, validNumbers.get(i))) {
+                rows.add(valid.get(i));
+                recordNumbers.add(validNumbers.get(i));
+            }
+        }
+        claims.complete(null);
+        try {
+            saveClaimed(run, rows, recordNumbers, firstRecord);
+        } finally {
+            // Copies of records that never got as far as a save are rejected rather than left pending
+            rows.forEach(row -> run.settle(row.getExternalRef(), false));
+        }
+    }
+
+    private void saveClaimed(ImportRun run, List<TicketImportRowDto> rows, List<Long> recordNumbers,
+                             long firstRecord) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Set<Long> departmentIds = referenceData.getDepartments().stream()
+                .map(DepartmentDto::getId)
+                .collect(Collectors.toSet());
+        try {
+            dropStoredDuplicates(run, rows, recordNumbers);
+            if (rows.isEmpty()) {
+                return;
+            }
+            saveBatch(run.creatorId, rows, departmentIds);
+            run.created.addAndGet(rows.size());
+            rows.forEach(row -> run.settle(row.getExternalRef(), true));
+        } catch (RuntimeException e) {
+            log.warn("Ticket import batch starting at record {} was rolled back, saving its records one by one",
+                    firstRecord, e);
+            saveIndividually(run, rows, recordNumbers, departmentIds);
+        }
+    }
+
+    private String firstViolation(TicketImportRowDto row) {
+        Set<ConstraintViolation<TicketImportRowDto>> rowViolations = validator.validate(row);
+        if (!rowViolations.isEmpty()) {
+            return rowViolations.iterator().next().getMessage();
+        }
+        Set<ConstraintViolation<TicketCreateDto>> violations = validator.validate(row.toCreateDto());
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void dropStoredDuplicates(ImportRun run, List<TicketImportRowDto> rows, List<Long> recordNumbers) {
+        Set<String> refs = rows.stream()
+                .map(TicketImportRowDto::getExternalRef)
+                .filter(ref -> ref != null)
+                .collect(Collectors.toSet());
+        if (refs.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(ticketRepository.findExistingExternalRefs(refs));
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            String ref = rows.get(i).getExternalRef();
+            if (ref != null && existing.contains(ref)) {
+                rows.remove(i);
+                recordNumbers.remove(i);
+                run.duplicates.incrementAndGet();
+                run.settle(ref, true);
+            }
+        }
+    }
+
+    /**
+     * Fallback after a batch rolled back: one transaction per record, so only the records
+     * that really can't be stored are rejected, together with their later copies.
+     */
+    private void saveIndividually(ImportRun run, List<TicketImportRowDto> rows, List<Long> recordNumbers,
+                                  Set<Long> departmentIds) {
+        for (int i = 0; i < rows.size(); i++) {
+            TicketImportRowDto row = rows.get(i);
+            String ref = row.getExternalRef();
+            try {
+                saveBatch(run.creatorId, List.of(row), departmentIds);
+                run.created.incrementAndGet();
+                run.settle(ref, true);
+            } catch (RuntimeException e) {
+                if (e instanceof DataIntegrityViolationException && isStored(ref)) {
+                    // A concurrent import stored the same externalRef first
+                    run.duplicates.incrementAndGet();
+                    run.settle(ref, true);
+                    continue;
+                }
+                run.reject(recordNumbers.get(i), "not saved: " + e.getMessage());
+                run.settle(ref, false);
+            }
+        }
+    }
+
+    private void saveBatch(Long creatorId, List<TicketImportRowDto> rows, Set<Long> departmentIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User creator = userService.getUserReference(creatorId);
+            List<Ticket> tickets = new ArrayList<>(rows.size());
+            for (TicketImportRowDto row : rows) {
+                Ticket ticket = ticketMapper.toEntity(row.toCreateDto());
+                ticket.setCreatedBy(creator);
+                ticket.setStatus(TicketStatus.OPEN);
+                ticket.setExternalRef(row.getExternalRef());
+                // Unknown departments are dropped, as in TicketService.createTicket
+                if (row.getDepartmentId() != null && departmentIds.contains(row.getDepartmentId())) {
+                    ticket.setDepartment(departmentRepository.getReferenceById(row.getDepartmentId()));
+                }
+                tickets.add(ticket);
+            }
+            ticketRepository.saveAll(tickets);
+            LocalDateTime occurredAt = LocalDateTime.now();
+            List<TicketChangedEvent> changes = new ArrayList<>(tickets.size());
+            for (Ticket ticket : tickets) {
+                TicketChangedEvent event = new TicketChangedEvent(TicketChangeType.CREATED, null,
+                        TicketSnapshot.of(ticket), occurredAt, true);
+                eventPublisher.publishEvent(event);
+                changes.add(event);
+            }
+            eventPublisher.publishEvent(new TicketBulkChangedEvent(TicketChangeType.CREATED, changes, occurredAt));
+        });
+    }
+
+    private boolean isStored(String ref) {
+        if (ref == null) {
+            return false;
+        }
+        try {
+            return !ticketRepository.findExistingExternalRefs(List.of(ref)).isEmpty();
+        } catch (RuntimeException e) {
+            // Can't tell; the record is reported as not saved
+            return false;
+        }
+    }
+
+    private static String nextRecord(BufferedReader reader, Format format) throws IOException {
+        return format == Format.CSV ? CsvRecords.readRecord(reader) : reader.readLine();
+    }
+
+    private static Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String header = CsvRecords.readRecord(reader);
+        if (header == null) {
+            return Map.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvRecords.parse(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must name the columns, including 'title'");
+        }
+        return columns;
+    }
+
+    private static TicketImportRowDto fromCsv(List<String> fields, Map<String, Integer> columns) {
+        String priority = field(fields, columns, "priority");
+        String category = field(fields, columns, "category");
+        String departmentId = field(fields, columns, "departmentid");
+        return TicketImportRowDto.builder()
+                .externalRef(field(fields, columns, "externalref"))
+                .title(field(fields, columns, "title"))
+                .description(field(fields, columns, "description"))
+                .priority(priority != null ? TicketPriority.valueOf(priority.toUpperCase(Locale.ROOT)) : null)
+                .category(category != null ? TicketCategory.valueOf(category.toUpperCase(Locale.ROOT)) : null)
+                .departmentId(departmentId != null ? Long.valueOf(departmentId) : null)
+                .build();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Counters shared by the batches of one import.
+     */
+    private static final class ImportRun {
+        private final Long creatorId;
+        private final ConcurrentMap<String, RefClaim> refClaims = new ConcurrentHashMap<>();
+        // Claims of the last submitted batch; only touched by the reading thread
+        private CompletableFuture<Void> lastClaims = CompletableFuture.completedFuture(null);
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private final Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+        private ImportRun(Long creatorId) {
+            this.creatorId = creatorId;
+        }
+
+        /**
+         * True if the record is the first with this ref. Otherwise it is a copy, counted
+         * as a duplicate once the first record has committed and rejected if it fails.
+         */
+        private boolean claim(String ref, long recordNumber) {
+            RefClaim claim = refClaims.computeIfAbsent(ref, key -> new RefClaim(recordNumber));
+            if (claim.owner == recordNumber) {
+                return true;
+            }
+            synchronized (claim) {
+                if (claim.saved == null) {
+                    claim.copies.add(recordNumber);
+                } else {
+                    settleCopy(claim, recordNumber);
+                }
+            }
+            return false;
+        }
+
+        // Records the outcome of the ref's first record; later calls for the same ref are ignored
+        private void settle(String ref, boolean saved) {
+            RefClaim claim = ref != null ? refClaims.get(ref) : null;
+            if (claim == null) {
+                return;
+            }
+            synchronized (claim) {
+                if (claim.saved != null) {
+                    return;
+                }
+                claim.saved = saved;
+                claim.copies.forEach(copy -> settleCopy(claim, copy));
+                claim.copies.clear();
+            }
+        }
+
+        private void settleCopy(RefClaim claim, long recordNumber) {
+            if (claim.saved) {
+                duplicates.incrementAndGet();
+            } else {
+                reject(recordNumber, "duplicate of record " + claim.owner + ", which was not saved");
+            }
+        }
+
+        private void reject(long recordNumber, String message) {
+            rejected.incrementAndGet();
+            if (reportedErrors.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+                errors.add(recordNumber + ": " + message);
+            }
+        }
+
+        private void batchFailed(long firstRecord, int records, RuntimeException e) {
+            rejected.addAndGet(records);
+            if (reportedErrors.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+                errors.add(firstRecord + "-" + (firstRecord + records - 1) + ": batch not saved: " + e.getMessage());
+            }
+        }
+
+        private ImportResultDto toResult() {
+            return ImportResultDto.builder()
+                    .received(received.get())
+                    .created(created.get())
+                    .duplicates(duplicates.get())
+                    .rejected(rejected.get())
+                    .errors(new ArrayList<>(errors))
+                    .build();
+        }
+    }
+
+    private static final class RefClaim {
+        private final long owner;
+        // Null until the owning record has been saved or given up on; guarded by this
+        private Boolean saved;
+        private final List<Long> copies = new ArrayList<>();
+
+        private RefClaim(long owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.event.CommentChangeType;
+import com.example.helpdesk.event.TicketCommentEvent;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.TicketCommentRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process inverted index over ticket titles, descriptions and comment
+ * content, for deployments where the database schema can't carry a full-text index.
+ * <p>
+ * Keyword searches resolve to a set of ticket ids here; the database is only asked
+ * for the requested page of those ids. Matching is on whole tokens and every
+ * keyword token must be present (in the ticket or one of its comments).
+ * <p>
+ * Changes committed while the index is being built are queued and applied on
+ * top of the build's snapshot, so none are lost to the race between the two.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final TicketRepository ticketRepository;
+    private final TicketCommentRepository commentRepository;
+
+    @Value("${helpdesk.search.index.enabled:false}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // token -> (ticket id -> number of fields/comments of that ticket containing the token)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> ticketTokens = new HashMap<>();
+    private final Map<Long, IndexedComment> commentTokens = new HashMap<>();
+    private final Map<Long, Set<Long>> commentsByTicket = new HashMap<>();
+
+    private volatile boolean ready;
+
+    private final Object pendingLock = new Object();
+    // Updates that arrive before the build finishes; null once ready, or after a failed build
+    private List<Runnable> pendingUpdates = new ArrayList<>();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            try (Stream<Object[]> tickets = ticketRepository.streamSearchableText()) {
+                tickets.forEach(row -> putTicket((Long) row[0], (String) row[1], (String) row[2]));
+            }
+            try (Stream<Object[]> comments = commentRepository.streamSearchableText()) {
+                comments.forEach(row -> putComment((Long) row[0], (Long) row[1], (String) row[2]));
+            }
+            int replayed;
+            synchronized (pendingLock) {
+                // Every update is idempotent, so replaying one the snapshot already saw is harmless
+                replayed = pendingUpdates.size();
+                pendingUpdates.forEach(Runnable::run);
+                pendingUpdates = null;
+                ready = true;
+            }
+            log.info("Ticket search index built: {} tickets, {} comments, {} terms ({} changes replayed)",
+                    ticketTokens.size(), commentTokens.size(), postings.size(), replayed);
+        } catch (RuntimeException e) {
+            synchronized (pendingLock) {
+                pendingUpdates = null;
+            }
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of tickets whose text or comments contain every token of the keyword, or
+     * null when the keyword has no indexable token (shorter than two characters or
+     * punctuation only) and the index cannot answer it.
+     * <p>
+     * Tokens match whole words only: "print" does not find "printer", whereas the
+     * LIKE search matches substrings.
+     */
+    public Set<Long> search(String keyword) {
+        Set<String> tokens = tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            // Intersect starting from the rarest token to keep the working set small
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String token : tokens) {
+                Map<Long, Integer> ids = postings.get(token);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            Set<Long> result = new HashSet<>(lists.get(0).keySet());
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i).keySet());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        update(() -> {
+            TicketSnapshot after = event.getAfter();
+            if (after == null) {
+                removeTicket(event.getTicketId());
+            } else {
+                putTicket(after.getId(), after.getTitle(), after.getDescription());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(TicketCommentEvent event) {
+        update(() -> {
+            if (event.getType() == CommentChangeType.DELETED) {
+                removeComment(event.getCommentId());
+            } else {
+                putComment(event.getCommentId(), event.getTicketId(), event.getContent());
+            }
+        });
+    }
+
+    private void update(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            // Queue instead of waiting for the build's write lock on the committing thread
+            synchronized (pendingLock) {
+                if (!ready) {
+                    if (pendingUpdates != null) {
+                        pendingUpdates.add(change);
+                    }
+                    return;
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The methods below expect the write lock to be held (pending updates run inside build())
+
+    private void putTicket(Long ticketId, String title, String description) {
+        Set<String> previous = ticketTokens.remove(ticketId);
+        if (previous != null) {
+            unpost(previous, ticketId);
+        }
+        Set<String> tokens = tokenize(title);
+        tokens.addAll(tokenize(description));
+        ticketTokens.put(ticketId, tokens);
+        post(tokens, ticketId);
+    }
+
+    private void removeTicket(Long ticketId) {
+        Set<String> previous = ticketTokens.remove(ticketId);
+        if (previous != null) {
+            unpost(previous, ticketId);
+        }
+        // Comments are deleted together with their ticket
+        Set<Long> commentIds = commentsByTicket.remove(ticketId);
+        if (commentIds != null) {
+            for (Long commentId : commentIds) {
+                IndexedComment comment = commentTokens.remove(commentId);
+                unpost(comment.tokens, ticketId);
+            }
+        }
+    }
+
+    private void putComment(Long commentId, Long ticketId, String content) {
+        removeComment(commentId);
+        Set<String> tokens = tokenize(content);
+        commentTokens.put(commentId, new IndexedComment(ticketId, tokens));
+        commentsByTicket.computeIfAbsent(ticketId, id -> new HashSet<>()).add(commentId);
+        post(tokens, ticketId);
+    }
+
+    private void removeComment(Long commentId) {
+        IndexedComment comment = commentTokens.remove(commentId);
+        if (comment == null) {
+            return;
+        }
+        Set<Long> siblings = commentsByTicket.get(comment.ticketId);
+        if (siblings != null) {
+            siblings.remove(commentId);
+            if (siblings.isEmpty()) {
+                commentsByTicket.remove(comment.ticketId);
+            }
+        }
+        unpost(comment.tokens, comment.ticketId);
+    }
+
+    private void post(Set<String> tokens, Long ticketId) {
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new HashMap<>()).merge(ticketId, 1, Integer::sum);
+        }
+    }
+
+    private void unpost(Set<String> tokens, Long ticketId) {
+        for (String token : tokens) {
+            Map<Long, Integer> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.computeIfPresent(ticketId, (id, refs) -> refs > 1 ? refs - 1 : null);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class IndexedComment {
+        private final Long ticketId;
+        private final Set<String> tokens;
+
+        private IndexedComment(Long ticketId, Set<String> tokens) {
+            this.ticketId = ticketId;
+            this.tokens = tokens;
+        }
+    }
+}
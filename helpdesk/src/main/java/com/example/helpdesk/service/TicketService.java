@@ -1,5 +1,9 @@
 package com.example.helpdesk.service;
 
+import com.example.helpdesk.dto.BulkItemResultDto;
+import com.example.helpdesk.dto.BulkResultDto;
+import com.example.helpdesk.dto.CursorPageDto;
+import com.example.helpdesk.dto.KeysetCursor;
 import com.example.helpdesk.dto.TicketCreateDto;
 import com.example.helpdesk.dto.TicketDto;
 import com.example.helpdesk.dto.TicketUpdateDto;
@@ -8,26 +12,64 @@ import com.example.helpdesk.entity.Ticket;
 import com.example.helpdesk.entity.User;
 import com.example.helpdesk.enums.TicketPriority;
 import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.event.TicketBulkChangedEvent;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
 import com.example.helpdesk.mapper.TicketMapper;
 import com.example.helpdesk.repository.DepartmentRepository;
 import com.example.helpdesk.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+    // Columns search results may be ordered by (all descending, ties broken by id)
+    public static final Set<String> SORT_PROPERTIES = Set.of("createdAt", "lastActivityAt", "commentCount");
+    // Default search order: full-text rank for keyword searches, newest first otherwise
+    public static final String RELEVANCE_SORT = "relevance";
+
     private final TicketRepository ticketRepository;
     private final DepartmentRepository departmentRepository;
     private final TicketMapper ticketMapper;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final FullTextSearchSupport fullTextSearch;
+    private final TicketSearchIndex searchIndex;
+
+    @Value("${helpdesk.search.index.max-candidates:5000}")
+    private int maxIndexCandidates;
+
+    @Value("${helpdesk.bulk.batch-size:500}")
+    private int bulkBatchSize;
 
     @Transactional(readOnly = true)
     public List<TicketDto> getAllTickets() {
@@ -38,15 +80,86 @@ public class TicketService {
         }
     }
 
+    /**
+     * Streams every ticket (or every ticket of one creator) newest first to the consumer.
+     * The persistence context is cleared periodically so heap use stays flat
+     * regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void streamTickets(Long creatorId, Consumer<TicketDto> consumer) {
+        drain(creatorId == null
+                ? ticketRepository.streamAll()
+                : ticketRepository.streamByCreator(creatorId), consumer);
+    }
+
+    /**
+     * Streams the tickets matching the {@link #searchTicketsPaginated} filters, newest first,
+     * without a page limit. Keywords use the plain substring match, since ranking
+     * has no meaning for an unpaged report.
+     */
+    @Transactional(readOnly = true)
+    public void exportTickets(TicketStatus status, TicketPriority priority, LocalDateTime activeSince, String keyword,
+                              Consumer<TicketDto> consumer) {
+        String term = keyword == null || keyword.isBlank() ? null : keyword.trim();
+        drain(ticketRepository.streamSearch(status, priority, activeSince, term), consumer);
+    }
+
+    private void drain(Stream<Ticket> stream, Consumer<TicketDto> consumer) {
+        try (Stream<Ticket> tickets = stream) {
+            int[] count = {0};
+            tickets.forEach(ticket -> {
+                consumer.accept(ticketMapper.toDto(ticket));
+                if (++count[0] % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Newest-first tickets after the given cursor, optionally restricted to one creator.
+     * Uses a seek predicate on (createdAt, id) so the cost does not grow with the page depth.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<TicketDto> getTicketsAfterCursor(Long creatorId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        KeysetCursor position = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+
+        List<Ticket> tickets;
+        if (position == null) {
+            tickets = creatorId == null
+                    ? ticketRepository.findAllByOrderByCreatedAtDescIdDesc(window)
+                    : ticketRepository.findByCreatedBy_IdOrderByCreatedAtDescIdDesc(creatorId, window);
+        } else {
+            tickets = creatorId == null
+                    ? ticketRepository.findPageBefore(position.getCreatedAt(), position.getId(), window)
+                    : ticketRepository.findPageBeforeByCreator(creatorId, position.getCreatedAt(), position.getId(), window);
+        }
+
+        boolean hasMore = tickets.size() > pageSize;
+        if (hasMore) {
+            tickets = tickets.subList(0, pageSize);
+        }
+        Ticket last = tickets.isEmpty() ? null : tickets.get(tickets.size() - 1);
+
+        return CursorPageDto.<TicketDto>builder()
+                .items(ticketMapper.toDtoList(tickets))
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public Page<TicketDto> getAllTicketsPaginated(Pageable pageable) {
-        Page<Ticket> ticketPage = ticketRepository.findAll(pageable);
+        Page<Ticket> ticketPage = ticketRepository.findAll(capped(pageable));
         return ticketPage.map(ticketMapper::toDto);
     }
 
     @Transactional(readOnly = true)
     public Page<TicketDto> getTicketsByUserPaginated(Long userId, Pageable pageable) {
-        Page<Ticket> ticketPage = ticketRepository.findByCreatedBy_Id(userId, pageable);
+        Page<Ticket> ticketPage = ticketRepository.findByCreatedBy_Id(userId, capped(pageable));
         return ticketPage.map(ticketMapper::toDto);
     }
 
@@ -64,8 +177,8 @@ public class TicketService {
     }
 
     @Transactional
-    public TicketDto createTicket(TicketCreateDto ticketDto, String username) {
-        User user = userService.getUserByUsername(username);
+    public TicketDto createTicket(TicketCreateDto ticketDto, Long userId) {
+        User user = userService.getUserReference(userId);
 
         Ticket ticket = ticketMapper.toEntity(ticketDto);
         ticket.setCreatedBy(user);
@@ -78,6 +191,7 @@ public class TicketService {
         }
 
         Ticket savedTicket = ticketRepository.save(ticket);
+        publish(TicketChangeType.CREATED, null, savedTicket);
         return ticketMapper.toDto(savedTicket);
     }
 
@@ -85,6 +199,7 @@ public class TicketService {
     public TicketDto updateTicket(Long id, TicketUpdateDto ticketDto) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ticket not found with id: " + id));
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         ticketMapper.updateEntity(ticketDto, ticket);
 
@@ -100,12 +215,17 @@ public class TicketService {
         }
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        publish(TicketChangeType.UPDATED, before, updatedTicket);
         return ticketMapper.toDto(updatedTicket);
     }
 
     @Transactional
     public void deleteTicket(Long id) {
-        ticketRepository.deleteById(id);
+        ticketRepository.findById(id).ifPresent(ticket -> {
+            TicketSnapshot before = TicketSnapshot.of(ticket);
+            ticketRepository.delete(ticket);
+            publish(TicketChangeType.DELETED, before, null);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -129,29 +249,45 @@ public class TicketService {
     }
 
     @Transactional(readOnly = true)
-    public List<TicketDto> searchTickets(TicketStatus status, TicketPriority priority, String keyword) {
-        try {
-            return ticketMapper.toDtoList(ticketRepository.searchTickets(status, priority, keyword));
-        } catch (Exception e) {
-            return Collections.emptyList();
+    public Page<TicketDto> searchTicketsPaginated(TicketStatus status, TicketPriority priority, LocalDateTime activeSince,
+                                                  String keyword, Pageable pageable) {
+        Set<Long> indexedIds = resolveFromIndex(keyword);
+        Page<Ticket> ticketPage;
+        if (indexedIds != null) {
+            ticketPage = indexedIds.isEmpty()
+                    ? Page.empty(pageable)
+                    : ticketRepository.searchByIds(indexedIds, status, priority, activeSince, sorted(pageable));
+        } else if (useFullTextSearch(keyword)) {
+            ticketPage = ticketRepository.fullTextSearch(name(status), name(priority), text(activeSince), keyword,
+                    sortProperty(pageable), unsorted(pageable));
+        } else {
+            ticketPage = ticketRepository.searchTicketsPaginated(status, priority, activeSince, keyword, sorted(pageable));
         }
-    }
-
-    @Transactional(readOnly = true)
-    public Page<TicketDto> searchTicketsPaginated(TicketStatus status, TicketPriority priority, String keyword, Pageable pageable) {
-        Page<Ticket> ticketPage = ticketRepository.searchTicketsPaginated(status, priority, keyword, pageable);
         return ticketPage.map(ticketMapper::toDto);
     }
 
     @Transactional(readOnly = true)
-    public Page<TicketDto> searchTicketsByUserPaginated(Long userId, TicketStatus status, TicketPriority priority, String keyword, Pageable pageable) {
-        Page<Ticket> ticketPage = ticketRepository.searchTicketsByUserPaginated(userId, status, priority, keyword, pageable);
+    public Page<TicketDto> searchTicketsByUserPaginated(Long userId, TicketStatus status, TicketPriority priority,
+                                                        LocalDateTime activeSince, String keyword, Pageable pageable) {
+        Set<Long> indexedIds = resolveFromIndex(keyword);
+        Page<Ticket> ticketPage;
+        if (indexedIds != null) {
+            ticketPage = indexedIds.isEmpty()
+                    ? Page.empty(pageable)
+                    : ticketRepository.searchByIdsAndUser(indexedIds, userId, status, priority, activeSince, sorted(pageable));
+        } else if (useFullTextSearch(keyword)) {
+            ticketPage = ticketRepository.fullTextSearchByUser(userId, name(status), name(priority), text(activeSince), keyword,
+                    sortProperty(pageable), unsorted(pageable));
+        } else {
+            ticketPage = ticketRepository.searchTicketsByUserPaginated(userId, status, priority, activeSince, keyword, sorted(pageable));
+        }
         return ticketPage.map(ticketMapper::toDto);
     }
 
     @Transactional
     public TicketDto assignTicket(Long ticketId, Long userId) {
         Ticket ticket = getTicketEntityById(ticketId);
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         User user = userService.getUserEntityById(userId);
 
         ticket.setAssignedTo(user);
@@ -160,36 +296,224 @@ public class TicketService {
         }
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        publish(TicketChangeType.ASSIGNED, before, updatedTicket);
         return ticketMapper.toDto(updatedTicket);
     }
 
     @Transactional
     public TicketDto updateTicketStatus(Long ticketId, TicketStatus status) {
         Ticket ticket = getTicketEntityById(ticketId);
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         ticket.setStatus(status);
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        publish(TicketChangeType.STATUS_CHANGED, before, updatedTicket);
         return ticketMapper.toDto(updatedTicket);
     }
 
+    /**
+     * Assigns an unassigned ticket to the agent with a conditional update, so when
+     * several agents claim the same ticket at once exactly one succeeds and the
+     * others get a {@link TicketClaimConflictException}.
+     */
     @Transactional
     public TicketDto claimTicket(Long ticketId, Long agentId) {
         Ticket ticket = getTicketEntityById(ticketId);
 
-        // Check if ticket is already assigned
+        // Cheap early exit; the conditional update below is what guarantees one winner
         if (ticket.getAssignedTo() != null) {
-            throw new RuntimeException("Ticket is already assigned to " + ticket.getAssignedTo().getUsername());
+            throw new TicketClaimConflictException(ticketId, ticket.getAssignedTo().getUsername());
+        }
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+
+        int claimed = ticketRepository.claimIfUnassigned(ticketId,
+                userService.getUserReference(agentId), LocalDateTime.now());
+        if (claimed == 0) {
+            Ticket current = getTicketEntityById(ticketId);
+            throw new TicketClaimConflictException(ticketId,
+                    current.getAssignedTo() != null ? current.getAssignedTo().getUsername() : null);
         }
 
-        User agent = userService.getUserEntityById(agentId);
-        ticket.setAssignedTo(agent);
+        Ticket updatedTicket = getTicketEntityById(ticketId);
+        publish(TicketChangeType.CLAIMED, before, updatedTicket);
+        return ticketMapper.toDto(updatedTicket);
+    }
 
-        // Change status to IN_PROGRESS if it's OPEN
-        if (ticket.getStatus() == TicketStatus.OPEN) {
-            ticket.setStatus(TicketStatus.IN_PROGRESS);
+    @Transactional
+    public BulkResultDto bulkAssign(List<Long> ticketIds, Long userId) {
+        User assignee = userService.getUserEntityById(userId);
+        return bulkUpdate(ticketIds, TicketChangeType.ASSIGNED,
+                ids -> ticketRepository.bulkAssign(ids, assignee, LocalDateTime.now()),
+                before -> before.toBuilder()
+                        .assignedToId(userId)
+                        .status(before.getStatus() == TicketStatus.OPEN ? TicketStatus.IN_PROGRESS : before.getStatus())
+                        .build());
+    }
+
+    @Transactional
+    public BulkResultDto bulkUpdateStatus(List<Long> ticketIds, TicketStatus status) {
+        boolean resolving = status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED;
+        return bulkUpdate(ticketIds, TicketChangeType.STATUS_CHANGED,
+                ids -> resolving
+                        ? ticketRepository.bulkResolve(ids, status, LocalDateTime.now())
+                        : ticketRepository.bulkUpdateStatus(ids, status, LocalDateTime.now()),
+                before -> before.toBuilder().status(status).build());
+    }
+
+    @Transactional
+    public BulkResultDto bulkMoveDepartment(List<Long> ticketIds, Long departmentId) {
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + departmentId));
+        return bulkUpdate(ticketIds, TicketChangeType.UPDATED,
+                ids -> ticketRepository.bulkMoveDepartment(ids, department, LocalDateTime.now()),
+                before -> before.toBuilder().departmentId(departmentId).build());
+    }
+
+    /**
+     * Applies a set-based update to the tickets in batches of {@code helpdesk.bulk.batch-size}:
+     * per batch one query locks the rows and reads their before-snapshots, and one UPDATE
+     * changes every row, instead of a load, save and DTO mapping per ticket. Ids that don't
+     * exist (or were deleted before the lock) are reported as failed items. Each changed
+     * ticket gets its own event, followed by one TicketBulkChangedEvent for the operation.
+     */
+    private BulkResultDto bulkUpdate(List<Long> ticketIds,
+                                     TicketChangeType type,
+                                     ToIntFunction<Collection<Long>> update,
+                                     UnaryOperator<TicketSnapshot> change) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(ticketIds));
+        ids.removeIf(Objects::isNull);
+        List<BulkItemResultDto> items = new ArrayList<>(ids.size());
+        List<TicketChangedEvent> changes = new ArrayList<>(ids.size());
+        LocalDateTime occurredAt = LocalDateTime.now();
+        int batchSize = Math.max(1, bulkBatchSize);
+        int updated = 0;
+        int failed = 0;
+
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            Map<Long, TicketSnapshot> found = ticketRepository.lockSnapshotRowsByIdIn(batch).stream()
+                    .map(TicketService::snapshot)
+                    .collect(Collectors.toMap(TicketSnapshot::getId, snapshot -> snapshot));
+            if (!found.isEmpty()) {
+                updated += update.applyAsInt(found.keySet());
+            }
+
+            for (Long id : batch) {
+                TicketSnapshot before = found.get(id);
+                if (before == null) {
+                    items.add(new BulkItemResultDto(id, false, "Ticket not found with id: " + id));
+                    failed++;
+                    continue;
+                }
+                TicketChangedEvent event = new TicketChangedEvent(type, before, change.apply(before), occurredAt, true);
+                eventPublisher.publishEvent(event);
+                changes.add(event);
+                items.add(new BulkItemResultDto(id, true, null));
+            }
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TicketBulkChangedEvent(type, changes, occurredAt));
         }
 
-        Ticket updatedTicket = ticketRepository.save(ticket);
-        return ticketMapper.toDto(updatedTicket);
+        return BulkResultDto.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .failed(failed)
+                .items(items)
+                .build();
+    }
+
+    private static TicketSnapshot snapshot(Object[] row) {
+        return new TicketSnapshot(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                row[3] != null ? TicketStatus.valueOf((String) row[3]) : null,
+                row[4] != null ? TicketPriority.valueOf((String) row[4]) : null,
+                row[5] != null ? ((Number) row[5]).longValue() : null,
+                row[6] != null ? ((Number) row[6]).longValue() : null,
+                row[7] != null ? ((Number) row[7]).longValue() : null);
+    }
+
+    /**
+     * Limits client-supplied page sizes so one request can't materialise the whole table.
+     */
+    private Pageable capped(Pageable pageable) {
+        if (pageable.isPaged() && pageable.getPageSize() > MAX_PAGE_SIZE) {
+            return PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+        }
+        return pageable;
+    }
+
+    /**
+     * Ticket ids matching the keyword according to the in-process index, or null when
+     * the index is disabled, has no tokens to look up, or the match set is too large
+     * to pass as an IN list.
+     */
+    private Set<Long> resolveFromIndex(String keyword) {
+        if (keyword == null || keyword.isBlank() || !searchIndex.isReady()) {
+            return null;
+        }
+        Set<Long> ids = searchIndex.search(keyword);
+        return ids != null && ids.size() <= maxIndexCandidates ? ids : null;
+    }
+
+    private boolean useFullTextSearch(String keyword) {
+        return keyword != null && !keyword.isBlank() && fullTextSearch.isAvailable();
+    }
+
+    /**
+     * Relevance has no meaning without a full-text rank, so the other search paths
+     * order an unsorted (relevance) request newest first.
+     */
+    private Pageable sorted(Pageable pageable) {
+        Pageable page = capped(pageable);
+        if (page.isPaged() && page.getSort().isUnsorted()) {
+            return PageRequest.of(page.getPageNumber(), page.getPageSize(), searchSort("createdAt"));
+        }
+        return page;
+    }
+
+    /**
+     * Native queries cannot take the entity-property sort, so the full-text queries
+     * order by {@link #sortProperty} themselves, falling back to rank when it is null.
+     */
+    private Pageable unsorted(Pageable pageable) {
+        Pageable page = capped(pageable);
+        return page.isPaged() ? PageRequest.of(page.getPageNumber(), page.getPageSize()) : page;
+    }
+
+    // Leading sort property as built by searchSort(), or null for relevance
+    private static String sortProperty(Pageable pageable) {
+        return pageable.getSort().stream().findFirst().map(Sort.Order::getProperty).orElse(null);
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    public static boolean isSearchSort(String sort) {
+        return RELEVANCE_SORT.equals(sort) || SORT_PROPERTIES.contains(sort);
+    }
+
+    /**
+     * Descending sort on one of {@link #SORT_PROPERTIES}, or unsorted for {@link #RELEVANCE_SORT}.
+     */
+    public static Sort searchSort(String sort) {
+        if (RELEVANCE_SORT.equals(sort)) {
+            return Sort.unsorted();
+        }
+        if (!SORT_PROPERTIES.contains(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        return Sort.by(Sort.Order.desc(sort), Sort.Order.desc("id"));
+    }
+
+    private static String text(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private void publish(TicketChangeType type, TicketSnapshot before, Ticket after) {
+        eventPublisher.publishEvent(new TicketChangedEvent(type, before, after != null ? TicketSnapshot.of(after) : null));
     }
 }
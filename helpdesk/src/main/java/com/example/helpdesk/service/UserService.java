@@ -1,5 +1,6 @@
 package com.example.helpdesk.service;
 
+import com.example.helpdesk.dto.AgentOptionDto;
 import com.example.helpdesk.dto.UserDto;
 import com.example.helpdesk.entity.Department;
 import com.example.helpdesk.entity.Role;
@@ -10,6 +11,7 @@ import com.example.helpdesk.repository.DepartmentRepository;
 import com.example.helpdesk.repository.RoleRepository;
 import com.example.helpdesk.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,17 +19,21 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_AGENT_SUGGESTIONS = 50;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final DepartmentRepository departmentRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceData;
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
@@ -47,6 +53,40 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    /**
+     * Returns a lazy reference for associations, without loading the user row.
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Prefix search over username, first and last name of active agents and admins.
+     * An empty query returns the head of the cached pick-list.
+     */
+    @Transactional(readOnly = true)
+    public List<AgentOptionDto> searchAssignableAgents(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_AGENT_SUGGESTIONS));
+        if (query == null || query.isBlank()) {
+            List<AgentOptionDto> agents = referenceData.getAssignableAgents();
+            return agents.subList(0, Math.min(size, agents.size()));
+        }
+        String prefix = query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return userRepository.searchAgentOptions(ReferenceDataCache.ASSIGNABLE_ROLES, UserStatus.ACTIVE,
+                prefix, PageRequest.of(0, size));
+    }
+
+    @Transactional(readOnly = true)
+    public AgentOptionDto getAgentOption(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return userRepository.findAgentOptionById(id).orElse(null);
+    }
+
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
@@ -67,7 +107,9 @@ public class UserService {
                             .name(roleName)
                             .description("User role")
                             .build();
-                    return roleRepository.save(newRole);
+                    Role savedRole = roleRepository.save(newRole);
+                    referenceData.invalidateRoles();
+                    return savedRole;
                 });
 
         Set<Role> roles = new HashSet<>();
@@ -82,6 +124,9 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        if (ReferenceDataCache.ASSIGNABLE_ROLES.contains(roleName)) {
+            referenceData.invalidateAgents();
+        }
         return userMapper.toDto(savedUser);
     }
 
@@ -0,0 +1,68 @@
+-- Baseline schema, equivalent to what Hibernate generated while ddl-auto=update
+-- was in use. Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+CREATE TABLE roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL UNIQUE,
+    password      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    phone_number  VARCHAR(255),
+    status        VARCHAR(255),
+    created_at    TIMESTAMP(6),
+    last_login    TIMESTAMP(6),
+    department_id BIGINT REFERENCES departments (id)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE tickets (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title          VARCHAR(255) NOT NULL,
+    description    TEXT,
+    status         VARCHAR(255),
+    priority       VARCHAR(255),
+    category       VARCHAR(255),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    resolved_at    TIMESTAMP(6),
+    created_by_id  BIGINT NOT NULL REFERENCES users (id),
+    assigned_to_id BIGINT REFERENCES users (id),
+    department_id  BIGINT REFERENCES departments (id)
+);
+
+CREATE TABLE ticket_comments (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    content    TEXT NOT NULL,
+    created_at TIMESTAMP(6),
+    ticket_id  BIGINT NOT NULL REFERENCES tickets (id),
+    user_id    BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE ticket_attachments (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    file_name      VARCHAR(255) NOT NULL,
+    file_path      VARCHAR(255) NOT NULL,
+    file_type      VARCHAR(255),
+    file_size      BIGINT,
+    uploaded_at    TIMESTAMP(6),
+    ticket_id      BIGINT NOT NULL REFERENCES tickets (id),
+    uploaded_by_id BIGINT NOT NULL REFERENCES users (id)
+);
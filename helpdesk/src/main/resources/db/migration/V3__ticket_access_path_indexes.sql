@@ -0,0 +1,29 @@
+-- Indexes matching the TicketRepository / TicketCommentRepository access patterns.
+
+-- Newest-first listings and keyset pagination on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_tickets_created_at_id ON tickets (created_at DESC, id DESC);
+
+-- Status / priority filters, sorted by creation date
+CREATE INDEX IF NOT EXISTS idx_tickets_status_created_at ON tickets (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_tickets_priority_created_at ON tickets (priority, created_at DESC);
+
+-- "My tickets", per-user search and per-user keyset pages
+CREATE INDEX IF NOT EXISTS idx_tickets_created_by_created_at ON tickets (created_by_id, created_at DESC, id DESC);
+
+-- Tickets assigned to an agent
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_to_created_at ON tickets (assigned_to_id, created_at DESC);
+
+-- Active workload per agent (dashboard "assigned to me")
+CREATE INDEX IF NOT EXISTS idx_tickets_assigned_active ON tickets (assigned_to_id) WHERE status <> 'CLOSED';
+
+-- Unassigned queue that agents claim from
+CREATE INDEX IF NOT EXISTS idx_tickets_unassigned_created_at ON tickets (created_at DESC) WHERE assigned_to_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_department ON tickets (department_id);
+
+-- Comment threads, newest first
+CREATE INDEX IF NOT EXISTS idx_ticket_comments_ticket_created_at ON ticket_comments (ticket_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ticket_comments_user ON ticket_comments (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_attachments_ticket ON ticket_attachments (ticket_id);
+CREATE INDEX IF NOT EXISTS idx_user_roles_role ON user_roles (role_id);
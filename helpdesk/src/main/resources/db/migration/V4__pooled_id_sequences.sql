@@ -0,0 +1,23 @@
+-- Replace identity columns with sequences so Hibernate can batch inserts.
+-- INCREMENT BY must match IdAllocation.SIZE; each sequence starts past the current
+-- maximum id so pre-allocated blocks never collide with existing rows.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50) FROM users;
+
+ALTER TABLE tickets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tickets ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS tickets_seq INCREMENT BY 50;
+SELECT setval('tickets_seq', COALESCE(MAX(id), 0) + 50) FROM tickets;
+
+ALTER TABLE ticket_comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ticket_comments ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS ticket_comments_seq INCREMENT BY 50;
+SELECT setval('ticket_comments_seq', COALESCE(MAX(id), 0) + 50) FROM ticket_comments;
+
+ALTER TABLE ticket_attachments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ticket_attachments ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS ticket_attachments_seq INCREMENT BY 50;
+SELECT setval('ticket_attachments_seq', COALESCE(MAX(id), 0) + 50) FROM ticket_attachments;
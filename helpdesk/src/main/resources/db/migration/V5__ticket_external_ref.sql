@@ -0,0 +1,5 @@
+-- Reference assigned by the system a ticket was imported from (mail gateway,
+-- monitoring); unique so re-delivered records are recognised as duplicates.
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS external_ref VARCHAR(255);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tickets_external_ref ON tickets (external_ref) WHERE external_ref IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Attachments are stored by the SHA-256 of their content; identical uploads share one file.
+ALTER TABLE ticket_attachments ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- Reference count lookup before a stored file is removed
+CREATE INDEX IF NOT EXISTS idx_ticket_attachments_content_hash ON ticket_attachments (content_hash);
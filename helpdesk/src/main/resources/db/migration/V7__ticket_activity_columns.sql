@@ -0,0 +1,16 @@
+-- Denormalised per-ticket comment count and last activity, maintained by
+-- TicketCommentService so list views can sort and filter without joins.
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP(6);
+
+UPDATE tickets t
+SET comment_count = c.comments
+FROM (SELECT ticket_id, COUNT(*) AS comments FROM ticket_comments GROUP BY ticket_id) c
+WHERE c.ticket_id = t.id;
+
+UPDATE tickets t
+SET last_activity_at = GREATEST(t.created_at, t.updated_at,
+        (SELECT MAX(c.created_at) FROM ticket_comments c WHERE c.ticket_id = t.id));
+
+-- "Recently active" lists and activity filters
+CREATE INDEX IF NOT EXISTS idx_tickets_last_activity_at ON tickets (last_activity_at DESC, id DESC);
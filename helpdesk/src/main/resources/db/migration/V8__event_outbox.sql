@@ -0,0 +1,20 @@
+-- Transactional outbox: ticket lifecycle events written in the same transaction as
+-- the change and delivered asynchronously by OutboxDispatcher (at least once).
+-- The id is the replay offset; INCREMENT BY matches IdAllocation.SIZE.
+CREATE SEQUENCE IF NOT EXISTS event_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id            BIGINT PRIMARY KEY,
+    aggregate_id  BIGINT       NOT NULL,
+    event_type    VARCHAR(50)  NOT NULL,
+    payload       TEXT         NOT NULL,
+    occurred_at   TIMESTAMP(6) NOT NULL,
+    dispatched_at TIMESTAMP(6),
+    attempts      INTEGER      NOT NULL DEFAULT 0
+);
+
+-- Pending events in offset order; stays small because delivered rows drop out
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending ON event_outbox (id) WHERE dispatched_at IS NULL;
+
+-- Retention purge of delivered events
+CREATE INDEX IF NOT EXISTS idx_event_outbox_dispatched_at ON event_outbox (dispatched_at) WHERE dispatched_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Outbox ids are taken one at a time, after the ticket row is locked, so the
+-- events of one ticket get offsets in commit order. A pooled block of ids would
+-- let a later commit reuse a lower, pre-allocated id.
+ALTER SEQUENCE event_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,94 @@
+package com.example.helpdesk;
+
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketCategory;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.repository.TicketRepository;
+import com.example.helpdesk.repository.UserRepository;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data for the {@code @SpringBootTest} suites, on top of the accounts seeded by
+ * DataInitializer. Pull it in with {@code @Import(TicketFixtures.class)}; it is
+ * prototype-scoped, so every test instance gets its own. Tests that commit (not
+ * {@code @Transactional}) call {@link #cleanUp()} to remove what they created.
+ */
+@TestComponent
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class TicketFixtures {
+
+    public static final String USER = "user";
+    public static final String AGENT = "agent";
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    private final List<Long> ticketIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    public TicketFixtures(TicketRepository ticketRepository, UserRepository userRepository) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * One of the accounts created by DataInitializer ({@link #USER}, {@link #AGENT}, "admin").
+     */
+    public User seededUser(String username) {
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    public User createUser(String username) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .password("secret")
+                .email(username + "@helpdesk.com")
+                .firstName("Test")
+                .lastName(username)
+                .build());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    /**
+     * An open, medium-priority ticket; adjust the builder before saving it.
+     */
+    public static Ticket.TicketBuilder ticket(String title, User creator) {
+        return Ticket.builder()
+                .title(title)
+                .description("Ticket created by " + TicketFixtures.class.getSimpleName())
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.MEDIUM)
+                .category(TicketCategory.OTHER)
+                .createdBy(creator);
+    }
+
+    public Ticket save(Ticket.TicketBuilder ticket) {
+        Ticket saved = ticketRepository.save(ticket.build());
+        ticketIds.add(saved.getId());
+        return saved;
+    }
+
+    public List<Long> createTickets(String titlePrefix, int count, User creator) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(save(ticket(titlePrefix + " " + i, creator)).getId());
+        }
+        return ids;
+    }
+
+    public void cleanUp() {
+        // Tickets first: they reference the users as creator and assignee
+        ticketRepository.deleteAllById(ticketIds);
+        userRepository.deleteAllById(userIds);
+        ticketIds.clear();
+        userIds.clear();
+    }
+}
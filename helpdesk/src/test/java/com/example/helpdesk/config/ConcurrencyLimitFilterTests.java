@@ -0,0 +1,90 @@
+package com.example.helpdesk.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of virtual-thread requests far above the limit: no more than the limit
+ * run at once (the rest of the chain stands in for a blocking JDBC call), the
+ * overflow gets 503 with Retry-After, and every permit is returned.
+ */
+class ConcurrencyLimitFilterTests {
+
+    private static final int LIMIT = 5;
+    private static final int REQUESTS = 200;
+
+    @Test
+    void burstIsCappedAndOverflowIsRejected() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(LIMIT, Duration.ofMillis(50));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>(REQUESTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(clients.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/tickets"), response, (req, res) -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+                    return response;
+                }));
+            }
+        }
+
+        int served = 0;
+        int rejected = 0;
+        for (Future<MockHttpServletResponse> future : responses) {
+            MockHttpServletResponse response = future.get();
+            if (response.getStatus() == 503) {
+                assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+                rejected++;
+            } else {
+                assertThat(response.getStatus()).isEqualTo(200);
+                served++;
+            }
+        }
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(LIMIT);
+        assertThat(served).isGreaterThanOrEqualTo(LIMIT);
+        assertThat(rejected).isPositive();
+        assertThat(served + rejected).isEqualTo(REQUESTS);
+        assertThat(filter.getAvailablePermits()).isEqualTo(LIMIT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/css/style.css", "/webjars/bootstrap/5.3.2/js/bootstrap.bundle.min.js", "/favicon.ico"})
+    void staticResourcesBypassTheLimit(String path) throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicInteger calls = new AtomicInteger();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tickets"), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(request, response, (inner, innerRes) -> calls.incrementAndGet()));
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
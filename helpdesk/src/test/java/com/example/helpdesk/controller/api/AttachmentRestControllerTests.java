@@ -0,0 +1,154 @@
+package com.example.helpdesk.controller.api;
+
+import com.example.helpdesk.dto.TicketAttachmentDto;
+import com.example.helpdesk.security.HelpdeskUserDetails;
+import com.example.helpdesk.service.TicketAttachmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Conditional and byte-range handling of attachment downloads.
+ */
+class AttachmentRestControllerTests {
+
+    private static final String CONTENT = "0123456789abcdef";
+    private static final String ETAG = "\"3f2a\"";
+
+    @TempDir
+    Path root;
+
+    private AttachmentRestController controller;
+    private HelpdeskUserDetails user;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(root.resolve("content"), CONTENT, StandardCharsets.US_ASCII);
+        TicketAttachmentDto attachment = TicketAttachmentDto.builder()
+                .id(1L)
+                .fileName("notes.txt")
+                .fileType("text/plain")
+                .contentHash("3f2a")
+                .build();
+        TicketAttachmentService.Content content = mock(TicketAttachmentService.Content.class);
+        when(content.getAttachment()).thenReturn(attachment);
+        when(content.getPath()).thenReturn(file);
+        TicketAttachmentService service = mock(TicketAttachmentService.class);
+        when(service.getContent(anyLong(), anyLong(), anyBoolean())).thenReturn(content);
+
+        controller = new AttachmentRestController(service);
+        user = new HelpdeskUserDetails(2L, null, "agent", "", List.of(new SimpleGrantedAuthority("ROLE_AGENT")));
+    }
+
+    @Test
+    void fullContentAdvertisesRanges() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download(new HttpHeaders());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(CONTENT.length());
+        assertThat(body(response)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download(range("bytes=2-5"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/16");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(4);
+        assertThat(body(response)).isEqualTo("2345");
+    }
+
+    @Test
+    void openAndSuffixRangesAreClampedToTheFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> open = download(range("bytes=10-99"));
+        assertThat(open.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-15/16");
+        assertThat(body(open)).isEqualTo("abcdef");
+
+        ResponseEntity<StreamingResponseBody> suffix = download(range("bytes=-3"));
+        assertThat(suffix.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 13-15/16");
+        assertThat(body(suffix)).isEqualTo("def");
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsNotSatisfiable() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download(range("bytes=16-"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */16");
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void ifRangeOnlyHonoursTheCurrentEtag() throws IOException {
+        HttpHeaders current = range("bytes=0-1");
+        current.set(HttpHeaders.IF_RANGE, ETAG);
+        ResponseEntity<StreamingResponseBody> partial = download(current);
+        assertThat(partial.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(body(partial)).isEqualTo("01");
+
+        HttpHeaders stale = range("bytes=0-1");
+        stale.set(HttpHeaders.IF_RANGE, "\"older\"");
+        ResponseEntity<StreamingResponseBody> full = download(stale);
+        assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(full)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void multipleOrMalformedRangesGetTheWholeFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> multiple = download(range("bytes=0-1,4-5"));
+        assertThat(multiple.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(multiple)).isEqualTo(CONTENT);
+
+        ResponseEntity<StreamingResponseBody> malformed = download(range("bytes=five-six"));
+        assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(malformed)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(ETAG);
+
+        ResponseEntity<StreamingResponseBody> response = download(headers);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(HttpHeaders headers) throws IOException {
+        return controller.downloadAttachment(1L, headers, user);
+    }
+
+    private static HttpHeaders range(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, value);
+        return headers;
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+}
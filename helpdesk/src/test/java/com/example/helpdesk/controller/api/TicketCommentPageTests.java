@@ -0,0 +1,118 @@
+package com.example.helpdesk.controller.api;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.dto.CursorPageDto;
+import com.example.helpdesk.dto.TicketCommentDto;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.security.HelpdeskUserDetails;
+import com.example.helpdesk.service.TicketCommentService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comment thread paging through GET /api/tickets/{id}/comments: the keyset cursor
+ * walks comments that share a timestamp without skipping or repeating any, and
+ * the endpoint keeps other users' threads and malformed cursors out.
+ */
+@SpringBootTest
+@Transactional
+@Import(TicketFixtures.class)
+class TicketCommentPageTests {
+
+    private static final int COMMENTS = 7;
+
+    @Autowired
+    private TicketRestController controller;
+
+    @Autowired
+    private TicketCommentService commentService;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User creator;
+    private Long ticketId;
+
+    @BeforeEach
+    void seed() {
+        creator = fixtures.seededUser(TicketFixtures.USER);
+        ticketId = fixtures.save(TicketFixtures.ticket("Comment paging ticket", creator)).getId();
+        for (int i = 0; i < COMMENTS; i++) {
+            commentService.addComment(ticketId, creator.getId(), "Comment " + i);
+        }
+        entityManager.flush();
+        // Same timestamp everywhere, so only the id tie-breaker orders the thread
+        entityManager.createNativeQuery("UPDATE ticket_comments SET created_at = DATE_TRUNC('second', NOW()) " +
+                        "WHERE ticket_id = :ticketId")
+                .setParameter("ticketId", ticketId)
+                .executeUpdate();
+    }
+
+    @Test
+    void cursorWalksTiedTimestampsWithoutGapsOrRepeats() {
+        HelpdeskUserDetails owner = principal(creator, "ROLE_USER");
+        List<TicketCommentDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDto<TicketCommentDto> page = comments(owner, cursor).getBody();
+            assertThat(page).isNotNull();
+            seen.addAll(page.getItems());
+            assertThat(page.isHasMore()).isEqualTo(page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(seen).hasSize(COMMENTS)
+                .isSortedAccordingTo(Comparator.comparing(TicketCommentDto::getId).reversed());
+        assertThat(seen).extracting(TicketCommentDto::getContent).doesNotHaveDuplicates();
+        // Constructor projection carries the author without loading the entities
+        assertThat(seen.get(0).getTicketId()).isEqualTo(ticketId);
+        assertThat(seen.get(0).getUserId()).isEqualTo(creator.getId());
+        assertThat(seen.get(0).getUsername()).isEqualTo(creator.getUsername());
+        assertThat(seen.get(0).getUserFullName()).isEqualTo(creator.getFirstName() + " " + creator.getLastName());
+    }
+
+    @Test
+    void regularUserCannotReadSomeoneElsesThread() {
+        User other = fixtures.createUser("commentreader");
+
+        assertThat(comments(principal(other, "ROLE_USER"), null).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        User agent = fixtures.seededUser(TicketFixtures.AGENT);
+        assertThat(comments(principal(agent, "ROLE_AGENT"), null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() {
+        HelpdeskUserDetails owner = principal(creator, "ROLE_USER");
+
+        assertThat(comments(owner, "not-a-cursor").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<CursorPageDto<TicketCommentDto>> comments(HelpdeskUserDetails user, String cursor) {
+        return controller.getComments(ticketId, cursor, 2, user);
+    }
+
+    private static HelpdeskUserDetails principal(User user, String role) {
+        return new HelpdeskUserDetails(user.getId(), null, user.getUsername(), "",
+                List.of(new SimpleGrantedAuthority(role)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.helpdesk.export;
+
+import com.example.helpdesk.dto.TicketDto;
+import com.example.helpdesk.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTicketWriterTests {
+
+    private static final String EMPTY_TAIL = ",,,,,,,,";
+
+    @Test
+    void fieldsAreQuotedAndFormulasNeutralised() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TicketExportWriter writer = TicketExportWriter.create(TicketExportWriter.ExportFormat.CSV, out)) {
+            writer.write(ticket(1L, "He said \"hi\", then left"));
+            writer.write(ticket(2L, "=1+2"));
+            writer.write(ticket(3L, "+cmd,evil"));
+            writer.write(ticket(4L, "@SUM(A1)"));
+            writer.write(ticket(5L, "-2"));
+            writer.write(ticket(6L, "line one\nline two"));
+            writer.write(ticket(7L, "Plain title"));
+        }
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(csv).startsWith("﻿" + String.join(",", TicketExportWriter.COLUMNS) + "\r\n");
+        assertThat(csv.substring(1).split("\r\n")).containsExactly(
+                String.join(",", TicketExportWriter.COLUMNS),
+                "1,\"He said \"\"hi\"\", then left\",OPEN" + EMPTY_TAIL,
+                "2,'=1+2,OPEN" + EMPTY_TAIL,
+                "3,\"'+cmd,evil\",OPEN" + EMPTY_TAIL,
+                "4,'@SUM(A1),OPEN" + EMPTY_TAIL,
+                "5,'-2,OPEN" + EMPTY_TAIL,
+                "6,\"line one\nline two\",OPEN" + EMPTY_TAIL,
+                "7,Plain title,OPEN" + EMPTY_TAIL);
+    }
+
+    private static TicketDto ticket(Long id, String title) {
+        return TicketDto.builder().id(id).title(title).status(TicketStatus.OPEN).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.helpdesk.export;
+
+import com.example.helpdesk.dto.TicketDto;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written package must be a well-formed workbook: every part present
+ * and parseable, and cell text round-tripping through the XML escaping.
+ */
+class XlsxTicketWriterTests {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    @Test
+    void workbookPartsParseAndCellValuesRoundTrip() throws Exception {
+        TicketDto special = TicketDto.builder()
+                .id(1L)
+                .title("<b>\"Tom & Jerry\"</b> > 'quotes'")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .departmentName("R&D")
+                .createdByUsername("user")
+                .createdAt(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000))
+                .build();
+        TicketDto control = TicketDto.builder().id(2L).title("Bell\u0007 tab\tnew\nline\u0000end").build();
+        TicketDto formula = TicketDto.builder().id(3L).title("=HYPERLINK(\"http://x\")").build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TicketExportWriter writer = TicketExportWriter.create(TicketExportWriter.ExportFormat.XLSX, out)) {
+            writer.write(special);
+            writer.write(control);
+            writer.write(formula);
+        }
+        Map<String, Document> parts = unzip(out.toByteArray());
+
+        assertThat(parts).containsOnlyKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+
+        List<List<String>> rows = rows(parts.get("xl/worksheets/sheet1.xml"));
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0)).isEqualTo(TicketExportWriter.COLUMNS);
+        assertThat(rows.get(1)).isEqualTo(TicketExportWriter.values(special));
+        assertThat(rows.get(1).get(8)).isEqualTo("2024-03-01T09:30:15");
+        // Illegal XML characters are dropped, tab and line breaks kept
+        assertThat(rows.get(2).get(1)).isEqualTo("Bell tab\tnew\nlineend");
+        // Inline strings are never evaluated, so formulas are kept verbatim
+        assertThat(rows.get(3).get(1)).isEqualTo("=HYPERLINK(\"http://x\")");
+    }
+
+    @Test
+    void rowsRollOverToNewSheets() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Header plus two tickets per sheet
+        try (XlsxTicketWriter writer = new XlsxTicketWriter(out, 3)) {
+            for (long id = 1; id <= 5; id++) {
+                writer.write(TicketDto.builder().id(id).title("Ticket " + id).build());
+            }
+        }
+        Map<String, Document> parts = unzip(out.toByteArray());
+
+        assertThat(rows(parts.get("xl/worksheets/sheet1.xml"))).hasSize(3);
+        assertThat(rows(parts.get("xl/worksheets/sheet2.xml"))).hasSize(3);
+        List<List<String>> last = rows(parts.get("xl/worksheets/sheet3.xml"));
+        assertThat(last).hasSize(2);
+        assertThat(last.get(0)).isEqualTo(TicketExportWriter.COLUMNS);
+        assertThat(last.get(1).get(0)).isEqualTo("5");
+
+        NodeList sheets = parts.get("xl/workbook.xml").getElementsByTagNameNS(MAIN_NS, "sheet");
+        assertThat(sheets.getLength()).isEqualTo(3);
+        assertThat(((Element) sheets.item(2)).getAttribute("name")).isEqualTo("Tickets 3");
+        assertThat(parts.get("[Content_Types].xml").getDocumentElement().getElementsByTagName("Override").getLength())
+                .isEqualTo(4);
+    }
+
+    private static Map<String, Document> unzip(byte[] xlsx) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Map<String, Document> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                byte[] content = zip.readAllBytes();
+                parts.put(entry.getName(), factory.newDocumentBuilder().parse(new ByteArrayInputStream(content)));
+            }
+        }
+        return parts;
+    }
+
+    private static List<List<String>> rows(Document sheet) {
+        List<List<String>> rows = new ArrayList<>();
+        NodeList rowNodes = sheet.getElementsByTagNameNS(MAIN_NS, "row");
+        for (int r = 0; r < rowNodes.getLength(); r++) {
+            Element row = (Element) rowNodes.item(r);
+            assertThat(row.getAttribute("r")).isEqualTo(Integer.toString(r + 1));
+            List<String> values = new ArrayList<>();
+            NodeList texts = row.getElementsByTagNameNS(MAIN_NS, "t");
+            for (int c = 0; c < texts.getLength(); c++) {
+                values.add(texts.item(c).getTextContent());
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.helpdesk.repository;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.service.TicketService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text keyword search orders by relevance unless the caller picks one of the
+ * property sorts, which it then honours like the other search paths.
+ */
+@SpringBootTest
+@Transactional
+@Import(TicketFixtures.class)
+class TicketFullTextSearchTests {
+
+    private static final String KEYWORD = "quasarflux";
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void resultsFollowTheRequestedSort() {
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        Long first = fixtures.save(TicketFixtures.ticket(KEYWORD + " one", creator).commentCount(2)).getId();
+        Long second = fixtures.save(TicketFixtures.ticket(KEYWORD + " two", creator).commentCount(5)).getId();
+        Long third = fixtures.save(TicketFixtures.ticket(KEYWORD + " three", creator).commentCount(0)).getId();
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE tickets SET last_activity_at = last_activity_at + INTERVAL '1 day' WHERE id = :id")
+                .setParameter("id", first)
+                .executeUpdate();
+
+        assertThat(search("createdAt")).containsExactly(third, second, first);
+        assertThat(search("commentCount")).containsExactly(second, first, third);
+        assertThat(search("lastActivityAt")).containsExactly(first, third, second);
+        assertThat(ticketRepository.fullTextSearchByUser(creator.getId(), null, null, null, KEYWORD, "commentCount",
+                PageRequest.of(0, 10)).map(Ticket::getId).getContent()).containsExactly(second, first, third);
+    }
+
+    @Test
+    void keywordSearchDefaultsToRelevance() {
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        // Title matches are weighted above description matches
+        Long titleMatch = fixtures.save(TicketFixtures.ticket(KEYWORD + " in the title", creator)).getId();
+        Long descriptionMatch = fixtures.save(TicketFixtures.ticket("Newer ticket", creator)
+                .description("Mentions " + KEYWORD + " in passing")).getId();
+        entityManager.flush();
+
+        PageRequest relevance = PageRequest.of(0, 10, TicketService.searchSort(TicketService.RELEVANCE_SORT));
+        assertThat(ticketService.searchTicketsPaginated(null, null, null, KEYWORD, relevance).getContent())
+                .extracting("id")
+                .containsExactly(titleMatch, descriptionMatch);
+        assertThat(search(null)).containsExactly(titleMatch, descriptionMatch);
+        assertThat(search("createdAt")).containsExactly(descriptionMatch, titleMatch);
+    }
+
+    private List<Long> search(String sort) {
+        return ticketRepository.fullTextSearch(null, null, null, KEYWORD, sort, PageRequest.of(0, 10))
+                .map(Ticket::getId)
+                .getContent();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.helpdesk.repository;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk ticket creation must go out as JDBC batches with ids taken from the pooled
+ * sequence, not as one INSERT (and one id fetch) per row.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@Import(TicketFixtures.class)
+class TicketInsertBatchingTests {
+
+    private static final int TICKETS = 1000;
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void bulkTicketCreationIsBatched() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(TicketFixtures.ticket("Batched ticket " + i, creator).build());
+        }
+
+        statistics.clear();
+        ticketRepository.saveAll(tickets);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TICKETS);
+        // One sequence call per 50 ids (IdAllocation.SIZE) and one statement per JDBC batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * TICKETS / JDBC_BATCH_SIZE + 5);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.helpdesk.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Fails when a hot ticket query is not answered by the index created for it
+ * (V3__ticket_access_path_indexes.sql and V2 for full-text search). Sequential scans are
+ * disabled for the EXPLAIN, so the planner picks an index whenever a usable one
+ * exists, regardless of how small the test tables are.
+ */
+@SpringBootTest
+class TicketQueryPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                arguments("SELECT * FROM tickets ORDER BY created_at DESC, id DESC LIMIT 20",
+                        "idx_tickets_created_at_id"),
+                arguments("SELECT * FROM tickets WHERE created_at < now() ORDER BY created_at DESC, id DESC LIMIT 20",
+                        "idx_tickets_created_at_id"),
+                arguments("SELECT * FROM tickets WHERE status = 'OPEN' ORDER BY created_at DESC LIMIT 20",
+                        "idx_tickets_status_created_at"),
+                arguments("SELECT * FROM tickets WHERE priority = 'URGENT' ORDER BY created_at DESC LIMIT 20",
+                        "idx_tickets_priority_created_at"),
+                arguments("SELECT * FROM tickets WHERE created_by_id = 1 ORDER BY created_at DESC, id DESC LIMIT 20",
+                        "idx_tickets_created_by_created_at"),
+                arguments("SELECT * FROM tickets WHERE assigned_to_id = 1 ORDER BY created_at DESC LIMIT 20",
+                        "idx_tickets_assigned_to_created_at"),
+                arguments("SELECT COUNT(*) FROM tickets WHERE assigned_to_id = 1 AND status <> 'CLOSED'",
+                        "idx_tickets_assigned_active"),
+                arguments("SELECT * FROM tickets WHERE assigned_to_id IS NULL ORDER BY created_at DESC LIMIT 20",
+                        "idx_tickets_unassigned_created_at"),
+                arguments("SELECT * FROM tickets WHERE search_vector @@ websearch_to_tsquery('english', 'printer')",
+                        "idx_tickets_search_vector"),
+                arguments("SELECT * FROM ticket_comments WHERE ticket_id = 1 ORDER BY created_at DESC, id DESC LIMIT 20",
+                        "idx_ticket_comments_ticket_created_at")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotQueries")
+    void hotQueryUsesItsIndex(String sql, String expectedIndex) {
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        });
+
+        assertThat(plan).as("plan for: %s", sql)
+                .doesNotContain("Seq Scan")
+                .contains(expectedIndex);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.helpdesk.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Large uploads stream through the store in constant memory, identical content
+ * is stored once, and downloads come back byte-for-byte via transferTo. The
+ * large-file case writes over 512 MB and is excluded from the default run;
+ * enable it with {@code -DexcludedGroups=}.
+ */
+class AttachmentStoreThroughputTests {
+
+    private static final long FILE_SIZE = 256L * 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    @Test
+    @Tag("benchmark")
+    void largeFilesStreamThroughAndAreDeduplicated() throws IOException {
+        AttachmentStore store = new AttachmentStore(root);
+
+        AttachmentStore.StagedFile first = store.stage(new PatternInputStream(FILE_SIZE));
+        boolean firstCreated = store.publish(first);
+        first.close();
+        AttachmentStore.StagedFile second = store.stage(new PatternInputStream(FILE_SIZE));
+        boolean secondCreated = store.publish(second);
+        second.close();
+
+        CountingOutputStream out = new CountingOutputStream();
+        AttachmentStore.transfer(store.resolve(first.getRelativePath()), 0, first.getSize(), out);
+
+        assertThat(first.getSize()).isEqualTo(FILE_SIZE);
+        assertThat(firstCreated).isTrue();
+        assertThat(secondCreated).isFalse();
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(Files.size(store.resolve(first.getRelativePath()))).isEqualTo(FILE_SIZE);
+        assertThat(out.count).isEqualTo(FILE_SIZE);
+        assertThat(out.checksum).isEqualTo(new PatternInputStream(FILE_SIZE).checksum());
+        try (Stream<Path> incoming = Files.list(root.resolve("incoming"))) {
+            assertThat(incoming).isEmpty();
+        }
+    }
+
+    @Test
+    void partialRangesAreServed() throws IOException {
+        AttachmentStore store = new AttachmentStore(root);
+        Path path;
+        try (AttachmentStore.StagedFile staged = store.stage(new PatternInputStream(1024 * 1024))) {
+            store.publish(staged);
+            path = store.resolve(staged.getRelativePath());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttachmentStore.transfer(path, 1000, 500, out);
+
+        byte[] expected = new byte[500];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = PatternInputStream.byteAt(1000 + i);
+        }
+        assertThat(out.toByteArray()).isEqualTo(expected);
+    }
+
+    /**
+     * Deterministic content generated on the fly, so the test needs no large fixture.
+     */
+    private static final class PatternInputStream extends InputStream {
+        private final long size;
+        private long position;
+
+        PatternInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? byteAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= size) {
+                return -1;
+            }
+            int n = (int) Math.min(length, size - position);
+            for (int i = 0; i < n; i++) {
+                buffer[offset + i] = byteAt(position++);
+            }
+            return n;
+        }
+
+        static byte byteAt(long position) {
+            return (byte) (position * 31 % 251);
+        }
+
+        long checksum() {
+            long sum = 0;
+            for (long i = 0; i < size; i++) {
+                sum += byteAt(i);
+            }
+            return sum;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+        private long checksum;
+
+        @Override
+        public void write(int b) {
+            count++;
+            checksum += (byte) b;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+            for (int i = 0; i < length; i++) {
+                checksum += buffer[offset + i];
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.helpdesk.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordsTests {
+
+    @Test
+    void plainFieldsAreSplitOnCommas() {
+        assertThat(CsvRecords.parse("a,b,,d")).containsExactly("a", "b", "", "d");
+        assertThat(CsvRecords.parse("")).containsExactly("");
+        assertThat(CsvRecords.parse("a,")).containsExactly("a", "");
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() {
+        assertThat(CsvRecords.parse("\"Printer, floor 2\",\"He said \"\"hi\"\"\",x"))
+                .containsExactly("Printer, floor 2", "He said \"hi\"", "x");
+        assertThat(CsvRecords.parse("\"\"\"\"")).containsExactly("\"");
+    }
+
+    @Test
+    void recordsSpanLinesWhileAQuoteIsOpen() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "REF-1,\"First line\nsecond, line\",HIGH\nREF-2,Single line,LOW\n"));
+
+        String first = CsvRecords.readRecord(reader);
+        String second = CsvRecords.readRecord(reader);
+
+        assertThat(CsvRecords.parse(first)).containsExactly("REF-1", "First line\nsecond, line", "HIGH");
+        assertThat(CsvRecords.parse(second)).containsExactly("REF-2", "Single line", "LOW");
+        assertThat(CsvRecords.readRecord(reader)).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteEndsAtEndOfInput() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("REF-1,\"never closed\nstill open"));
+
+        assertThat(CsvRecords.parse(CsvRecords.readRecord(reader)))
+                .containsExactly("REF-1", "never closed\nstill open");
+        assertThat(CsvRecords.readRecord(reader)).isNull();
+    }
+}
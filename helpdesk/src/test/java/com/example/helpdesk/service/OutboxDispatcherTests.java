@@ -0,0 +1,222 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.entity.OutboxEvent;
+import com.example.helpdesk.event.DispatchedTicketEvent;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delivery order, retries and replay of OutboxDispatcher, against an in-memory
+ * outbox that answers the repository queries the way the SQL does.
+ */
+class OutboxDispatcherTests {
+
+    private static final int MAX_ATTEMPTS = 2;
+    private static final long TICKET_A = 1L;
+    private static final long TICKET_B = 2L;
+
+    private final List<OutboxEvent> rows = new ArrayList<>();
+    private final Set<Long> failing = Collections.synchronizedSet(new HashSet<>());
+    // Rows claimed by another dispatcher instance
+    private final Set<Long> lockedElsewhere = new HashSet<>();
+    private final List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.lockPendingBatch(anyInt(), anyInt())).thenAnswer(invocation -> rows.stream()
+                .filter(row -> pending(row, invocation.getArgument(0)) && !lockedElsewhere.contains(row.getId()))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .limit(invocation.<Integer>getArgument(1))
+                .toList());
+        when(repository.findEarliestUnclaimed(anyCollection(), anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> tickets = invocation.getArgument(0);
+            Collection<Long> claimed = invocation.getArgument(1);
+            Map<Long, Long> earliest = rows.stream()
+                    .filter(row -> pending(row, invocation.getArgument(2)))
+                    .filter(row -> tickets.contains(row.getAggregateId()) && !claimed.contains(row.getId()))
+                    .collect(Collectors.toMap(OutboxEvent::getAggregateId, OutboxEvent::getId, Math::min));
+            return earliest.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                    .toList();
+        });
+        when(repository.markDispatched(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            rows.stream().filter(row -> ids.contains(row.getId()))
+                    .forEach(row -> row.setDispatchedAt(invocation.getArgument(1)));
+            return ids.size();
+        });
+        when(repository.recordFailedAttempt(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            rows.stream().filter(row -> ids.contains(row.getId()))
+                    .forEach(row -> row.setAttempts(row.getAttempts() + 1));
+            return ids.size();
+        });
+        when(repository.resetFrom(anyLong())).thenAnswer(invocation -> {
+            List<OutboxEvent> reset = rows.stream()
+                    .filter(row -> row.getId() >= invocation.<Long>getArgument(0))
+                    .toList();
+            reset.forEach(row -> {
+                row.setDispatchedAt(null);
+                row.setAttempts(0);
+            });
+            return reset.size();
+        });
+        when(repository.countFailed(anyInt())).thenAnswer(invocation -> rows.stream()
+                .filter(row -> row.getDispatchedAt() == null && row.getAttempts() >= invocation.<Integer>getArgument(0))
+                .count());
+
+        TicketEventOutbox outbox = mock(TicketEventOutbox.class);
+        when(outbox.read(any())).thenAnswer(invocation -> {
+            OutboxEvent row = invocation.getArgument(0);
+            TicketSnapshot ticket = TicketSnapshot.builder().id(row.getAggregateId()).build();
+            return new TicketChangedEvent(TicketChangeType.UPDATED, ticket, ticket, row.getOccurredAt());
+        });
+
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> {
+            DispatchedTicketEvent event = invocation.getArgument(0);
+            if (failing.contains(event.getOffset())) {
+                throw new IllegalStateException("Consumer unavailable");
+            }
+            delivered.add(event.getOffset());
+            return null;
+        }).when(publisher).publishEvent(any(DispatchedTicketEvent.class));
+
+        dispatcher = new OutboxDispatcher(repository, outbox, publisher, mock(PlatformTransactionManager.class),
+                false, 100, MAX_ATTEMPTS, Duration.ofSeconds(1), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void failedEventHoldsBackLaterEventsOfTheSameTicket() {
+        append(1L, TICKET_A);
+        append(2L, TICKET_B);
+        append(3L, TICKET_A);
+        failing.add(1L);
+
+        dispatchBatch();
+        assertThat(delivered).containsExactly(2L);
+        assertThat(row(1L).getAttempts()).isEqualTo(1);
+        assertThat(row(3L).getAttempts()).isZero();
+        assertThat(row(3L).getDispatchedAt()).isNull();
+
+        failing.clear();
+        dispatchBatch();
+        assertThat(delivered).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void exhaustedEventIsParkedAndLaterEventsGoAhead() {
+        append(1L, TICKET_A);
+        append(2L, TICKET_A);
+        failing.add(1L);
+
+        dispatchBatch();
+        dispatchBatch();
+        assertThat(delivered).isEmpty();
+        assertThat(row(1L).getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(dispatcher.getStats().getFailed()).isEqualTo(1);
+
+        // No further attempts on the parked event; the ticket's next event is delivered
+        dispatchBatch();
+        assertThat(delivered).containsExactly(2L);
+        assertThat(row(1L).getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(row(1L).getDispatchedAt()).isNull();
+    }
+
+    @Test
+    void replayRedeliversFromTheOffsetIncludingParkedEvents() {
+        append(1L, TICKET_A);
+        append(2L, TICKET_B);
+        append(3L, TICKET_A);
+        failing.add(3L);
+        dispatchBatch();
+        dispatchBatch();
+        assertThat(delivered).containsExactlyInAnyOrder(1L, 2L);
+
+        failing.clear();
+        delivered.clear();
+        assertThat(dispatcher.replayFrom(2L)).isEqualTo(2);
+        dispatchBatch();
+
+        assertThat(delivered).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(row(1L).getDispatchedAt()).isNotNull();
+        assertThat(row(3L).getDispatchedAt()).isNotNull();
+    }
+
+    @Test
+    void eventsQueuedBehindAnotherDispatchersClaimWait() {
+        append(1L, TICKET_A);
+        append(2L, TICKET_A);
+        append(3L, TICKET_B);
+        lockedElsewhere.add(1L);
+
+        dispatchBatch();
+        assertThat(delivered).containsExactly(3L);
+        assertThat(row(2L).getDispatchedAt()).isNull();
+
+        // The other instance delivers its claim, after which the ticket's next event follows
+        row(1L).setDispatchedAt(LocalDateTime.now());
+        lockedElsewhere.clear();
+        dispatchBatch();
+        assertThat(delivered).containsExactly(3L, 2L);
+    }
+
+    private void append(Long id, Long ticketId) {
+        rows.add(OutboxEvent.builder()
+                .id(id)
+                .aggregateId(ticketId)
+                .eventType(TicketChangeType.UPDATED.name())
+                .payload("{}")
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private OutboxEvent row(Long id) {
+        return rows.stream().filter(row -> row.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    private void dispatchBatch() {
+        ReflectionTestUtils.invokeMethod(dispatcher, "dispatchBatch");
+    }
+
+    private static boolean pending(OutboxEvent row, int maxAttempts) {
+        return row.getDispatchedAt() == null && row.getAttempts() < maxAttempts;
+    }
+}
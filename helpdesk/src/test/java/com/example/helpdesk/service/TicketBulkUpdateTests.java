@@ -0,0 +1,108 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.dto.BulkResultDto;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk operations against the per-item path they replace: same end state,
+ * a fixed number of statements per batch instead of several per ticket.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "helpdesk.bulk.batch-size=100"
+})
+@Transactional
+@Import(TicketFixtures.class)
+class TicketBulkUpdateTests {
+
+    private static final int TICKETS = 300;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User agent;
+    private List<Long> ticketIds;
+
+    @BeforeEach
+    void seedTickets() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        agent = fixtures.seededUser(TicketFixtures.AGENT);
+        ticketIds = fixtures.createTickets("Bulk ticket", TICKETS, creator);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bulkAssignMatchesPerItemResultWithFarFewerStatements() {
+        List<Long> perItemIds = ticketIds.subList(0, TICKETS / 2);
+        List<Long> bulkIds = ticketIds.subList(TICKETS / 2, TICKETS);
+
+        statistics.clear();
+        perItemIds.forEach(id -> ticketService.assignTicket(id, agent.getId()));
+        entityManager.flush();
+        long perItemStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        BulkResultDto result = ticketService.bulkAssign(bulkIds, agent.getId());
+        entityManager.flush();
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertThat(result.getUpdated()).isEqualTo(bulkIds.size());
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getItems()).allSatisfy(item -> assertThat(item.isSuccess()).isTrue());
+        assertThat(bulkStatements).isLessThan(perItemStatements / 10);
+        for (Long id : ticketIds) {
+            Ticket ticket = ticketRepository.findById(id).orElseThrow();
+            assertThat(ticket.getAssignedTo().getId()).isEqualTo(agent.getId());
+            assertThat(ticket.getStatus()).isEqualTo(TicketStatus.IN_PROGRESS);
+        }
+    }
+
+    @Test
+    void bulkStatusReportsMissingTicketsPerItem() {
+        List<Long> ids = new ArrayList<>(ticketIds.subList(0, 5));
+        ids.add(-1L);
+
+        BulkResultDto result = ticketService.bulkUpdateStatus(ids, TicketStatus.CLOSED);
+
+        assertThat(result.getRequested()).isEqualTo(6);
+        assertThat(result.getUpdated()).isEqualTo(5);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems()).filteredOn(item -> !item.isSuccess())
+                .singleElement()
+                .satisfies(item -> assertThat(item.getTicketId()).isEqualTo(-1L));
+        Ticket closed = ticketRepository.findById(ticketIds.get(0)).orElseThrow();
+        assertThat(closed.getStatus()).isEqualTo(TicketStatus.CLOSED);
+        assertThat(closed.getResolvedAt()).isNotNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many agents race to claim the same tickets: every ticket must end up with
+ * exactly one winner, and every loser must get a clean conflict.
+ */
+@SpringBootTest
+@Import(TicketFixtures.class)
+class TicketClaimConcurrencyTests {
+
+    private static final int TICKETS = 20;
+    private static final int AGENTS = 16;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    private List<Long> ticketIds;
+    private final List<Long> agentIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        for (int i = 0; i < AGENTS; i++) {
+            agentIds.add(fixtures.createUser("claimrace" + i).getId());
+        }
+        ticketIds = fixtures.createTickets("Claim race ticket", TICKETS, creator);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void concurrentClaimsHaveExactlyOneWinnerPerTicket() throws Exception {
+        Map<Long, Long> winners = new ConcurrentHashMap<>();
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(AGENTS);
+        List<Future<?>> attempts = new ArrayList<>();
+
+        for (Long ticketId : ticketIds) {
+            for (Long agentId : agentIds) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        ticketService.claimTicket(ticketId, agentId);
+                        winners.put(ticketId, agentId);
+                        wins.incrementAndGet();
+                    } catch (TicketClaimConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(wins.get()).isEqualTo(TICKETS);
+        assertThat(winners).hasSize(TICKETS);
+        assertThat(conflicts.get()).isEqualTo(TICKETS * (AGENTS - 1));
+        for (Long ticketId : ticketIds) {
+            // The stored assignee is the agent whose claim succeeded
+            Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+            assertThat(ticket.getAssignedTo().getId()).isEqualTo(winners.get(ticketId));
+            assertThat(ticket.getStatus()).isEqualTo(TicketStatus.IN_PROGRESS);
+        }
+    }
+}
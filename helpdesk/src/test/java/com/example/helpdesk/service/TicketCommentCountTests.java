@@ -0,0 +1,113 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.dto.TicketCommentDto;
+import com.example.helpdesk.entity.Ticket;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.repository.TicketCommentRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The denormalised comment count must match the comment rows even when comments
+ * are added while the same ticket is being edited.
+ */
+@SpringBootTest
+@Import(TicketFixtures.class)
+class TicketCommentCountTests {
+
+    private static final int WRITERS = 8;
+    private static final int COMMENTS_PER_WRITER = 25;
+
+    @Autowired
+    private TicketCommentService commentService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketCommentRepository commentRepository;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    private Long ticketId;
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        User creator = fixtures.seededUser(TicketFixtures.USER);
+        userId = creator.getId();
+        ticketId = fixtures.save(TicketFixtures.ticket("Comment count ticket", creator)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void concurrentCommentsAndEditsKeepTheCountExact() throws Exception {
+        LocalDateTime before = ticketRepository.findById(ticketId).orElseThrow().getLastActivityAt();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        List<Future<?>> writers = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < COMMENTS_PER_WRITER; i++) {
+                    commentService.addComment(ticketId, userId, "Comment " + writer + "-" + i);
+                }
+                return null;
+            }));
+        }
+        // Ticket edits racing with the counter updates must not write back a stale count
+        writers.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < COMMENTS_PER_WRITER; i++) {
+                ticketService.updateTicketStatus(ticketId, i % 2 == 0 ? TicketStatus.IN_PROGRESS : TicketStatus.OPEN);
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int expected = WRITERS * COMMENTS_PER_WRITER;
+        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+        assertThat(ticket.getCommentCount()).isEqualTo(expected);
+        assertThat(commentRepository.countByTicket_Id(ticketId)).isEqualTo(expected);
+        assertThat(ticket.getLastActivityAt()).isAfter(before);
+
+        List<TicketCommentDto> newest = commentService.getCommentPage(ticketId, null, 10).getItems();
+        for (TicketCommentDto comment : newest) {
+            commentService.deleteComment(comment.getId(), userId, false);
+        }
+        assertThat(ticketRepository.findById(ticketId).orElseThrow().getCommentCount()).isEqualTo(expected - 10);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.dto.TicketCountDto;
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A change committed while reconcile() is loading must be counted exactly once
+ * after the swap to the reloaded counters, whether or not the database snapshot
+ * already includes it.
+ */
+class TicketCounterStoreTests {
+
+    private static final Long CREATOR_ID = 1L;
+
+    @Test
+    void eventsCommittedDuringReloadAreNotLost() {
+        TicketRepository repository = mock(TicketRepository.class);
+        TicketCounterStore store = store(repository);
+
+        List<Object[]> tenOpen = rows(10L);
+        when(repository.countActiveGroupedByAssignee()).thenReturn(List.of());
+        when(repository.countGroupedByCreatorStatusAndPriority())
+                .thenReturn(tenOpen)
+                .thenAnswer(invocation -> {
+                    // Commits after the snapshot was taken, before the reload is swapped in
+                    store.onTicketChanged(created(11L));
+                    return tenOpen;
+                });
+
+        store.seed();
+        store.reconcile();
+
+        assertThat(total(store.getGlobalCounts())).isEqualTo(11L);
+        assertThat(total(store.getCreatorCounts(CREATOR_ID))).isEqualTo(11L);
+
+        // Outside a reload, events only touch the live counters
+        store.onTicketChanged(created(12L));
+        assertThat(total(store.getGlobalCounts())).isEqualTo(12L);
+    }
+
+    @Test
+    void eventsTheReloadSnapshotAlreadySawAreNotCountedTwice() {
+        TicketRepository repository = mock(TicketRepository.class);
+        TicketCounterStore store = store(repository);
+
+        when(repository.countActiveGroupedByAssignee()).thenReturn(List.of());
+        when(repository.countGroupedByCreatorStatusAndPriority())
+                .thenReturn(rows(10L))
+                .thenAnswer(invocation -> {
+                    // Both commit before the snapshot is taken, but their listeners run during the load
+                    store.onTicketChanged(created(11L));
+                    store.onTicketChanged(new TicketChangedEvent(TicketChangeType.STATUS_CHANGED,
+                            open(5L), open(5L).toBuilder().status(TicketStatus.CLOSED).build()));
+                    List<Object[]> rows = rows(10L);
+                    rows.add(new Object[]{CREATOR_ID, TicketStatus.CLOSED, TicketPriority.MEDIUM, 1L});
+                    return rows;
+                });
+        // Re-read in the reload's snapshot: both changes are already there
+        when(repository.findSnapshotsByIdIn(anyCollection())).thenReturn(List.of(
+                open(11L),
+                open(5L).toBuilder().status(TicketStatus.CLOSED).build()));
+
+        store.seed();
+        store.reconcile();
+
+        List<TicketCountDto> counts = store.getGlobalCounts();
+        assertThat(total(counts)).isEqualTo(11L);
+        assertThat(count(counts, TicketStatus.OPEN)).isEqualTo(10L);
+        assertThat(count(counts, TicketStatus.CLOSED)).isEqualTo(1L);
+    }
+
+    private static TicketCounterStore store(TicketRepository repository) {
+        TicketCounterStore store = new TicketCounterStore(repository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(store, "enabled", true);
+        return store;
+    }
+
+    private static List<Object[]> rows(long openTickets) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{CREATOR_ID, TicketStatus.OPEN, TicketPriority.MEDIUM, openTickets});
+        return rows;
+    }
+
+    private static TicketSnapshot open(Long id) {
+        return TicketSnapshot.builder()
+                .id(id)
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.MEDIUM)
+                .createdById(CREATOR_ID)
+                .build();
+    }
+
+    private static TicketChangedEvent created(Long id) {
+        return new TicketChangedEvent(TicketChangeType.CREATED, null, open(id));
+    }
+
+    private static long count(List<TicketCountDto> rows, TicketStatus status) {
+        return rows.stream().filter(row -> row.getStatus() == status).mapToLong(TicketCountDto::getCount).sum();
+    }
+
+    private static long total(List<TicketCountDto> rows) {
+        return rows.stream().mapToLong(TicketCountDto::getCount).sum();
+    }
+}
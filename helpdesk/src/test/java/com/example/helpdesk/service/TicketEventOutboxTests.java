@@ -0,0 +1,123 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.enums.TicketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The outbox row is written in the changing transaction, which holds the ticket
+ * row lock from the moment its offset is taken; nothing is written while the
+ * outbox is disabled.
+ */
+@SpringBootTest
+@Import(TicketFixtures.class)
+class TicketEventOutboxTests {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketEventOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    private Long ticketId;
+
+    @BeforeEach
+    void seed() {
+        ticketId = fixtures.save(TicketFixtures.ticket("Outbox ticket", fixtures.seededUser(TicketFixtures.USER))).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM event_outbox WHERE aggregate_id = ?", ticketId);
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void rowIsWrittenOnlyWhenTheChangeCommits() {
+        ticketService.updateTicketStatus(ticketId, TicketStatus.IN_PROGRESS);
+        assertThat(eventTypes()).containsExactly("STATUS_CHANGED");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ticketService.updateTicketStatus(ticketId, TicketStatus.RESOLVED);
+            status.setRollbackOnly();
+        });
+        assertThat(eventTypes()).containsExactly("STATUS_CHANGED");
+    }
+
+    @Test
+    void ticketRowStaysLockedUntilTheEventCommits() throws Exception {
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    // Same status: no UPDATE is flushed, so only the outbox takes the lock
+                    ticketService.updateTicketStatus(ticketId, TicketStatus.OPEN);
+                    appended.countDown();
+                    await(release);
+                }));
+        try {
+            assertThat(appended.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(() -> jdbcTemplate.queryForList(
+                    "SELECT id FROM tickets WHERE id = ? FOR UPDATE NOWAIT", Long.class, ticketId))
+                    .isInstanceOf(DataAccessException.class);
+        } finally {
+            release.countDown();
+        }
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM tickets WHERE id = ? FOR UPDATE NOWAIT", Long.class, ticketId)).containsExactly(ticketId);
+        assertThat(eventTypes()).containsExactly("STATUS_CHANGED");
+    }
+
+    @Test
+    void nothingIsWrittenWhileDisabled() {
+        ReflectionTestUtils.setField(outbox, "enabled", false);
+        try {
+            ticketService.updateTicketStatus(ticketId, TicketStatus.IN_PROGRESS);
+        } finally {
+            ReflectionTestUtils.setField(outbox, "enabled", true);
+        }
+        assertThat(eventTypes()).isEmpty();
+    }
+
+    private List<String> eventTypes() {
+        return jdbcTemplate.queryForList(
+                "SELECT event_type FROM event_outbox WHERE aggregate_id = ? ORDER BY id", String.class, ticketId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
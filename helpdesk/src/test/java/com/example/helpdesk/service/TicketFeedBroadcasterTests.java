@@ -0,0 +1,105 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.enums.TicketPriority;
+import com.example.helpdesk.event.CommentChangeType;
+import com.example.helpdesk.event.TicketBulkChangedEvent;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketCommentEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which events reach a filtered subscriber, and how many queue slots they take.
+ * The sender pool is shut down so nothing is drained, and every subscriber has a
+ * single-slot queue: a subscriber is still connected after one queued event and
+ * dropped by the next, which makes "was it queued" observable.
+ */
+class TicketFeedBroadcasterTests {
+
+    private static final Long SUPPORT = 1L;
+    private static final Long NETWORK = 2L;
+
+    private TicketFeedBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TicketFeedBroadcaster(1, 10, Duration.ofMinutes(1), 1);
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void ticketsLeavingTheFilterAreSent() {
+        broadcaster.subscribe(SUPPORT, null, null);
+
+        broadcaster.onTicketChanged(moved(1L, NETWORK, NETWORK));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onTicketChanged(moved(1L, SUPPORT, NETWORK));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onTicketChanged(moved(2L, NETWORK, SUPPORT));
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void bulkOperationsTakeOneQueueSlot() {
+        broadcaster.subscribe(SUPPORT, null, null);
+
+        List<TicketChangedEvent> changes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 5; id++) {
+            TicketSnapshot before = snapshot(id, SUPPORT);
+            TicketChangedEvent change = new TicketChangedEvent(TicketChangeType.UPDATED, before,
+                    before.toBuilder().departmentId(NETWORK).build(), now, true);
+            broadcaster.onTicketChanged(change);
+            changes.add(change);
+        }
+        broadcaster.onBulkChanged(new TicketBulkChangedEvent(TicketChangeType.UPDATED, changes, now));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onTicketChanged(moved(6L, SUPPORT, SUPPORT));
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void commentEventsAreRoutedByTheirOwnFields() {
+        broadcaster.subscribe(null, null, TicketPriority.HIGH);
+
+        broadcaster.onCommentChanged(comment(TicketPriority.LOW));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onCommentChanged(comment(TicketPriority.HIGH));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+        broadcaster.onCommentChanged(comment(TicketPriority.HIGH));
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    private static TicketChangedEvent moved(Long id, Long fromDepartment, Long toDepartment) {
+        TicketSnapshot before = snapshot(id, fromDepartment);
+        return new TicketChangedEvent(TicketChangeType.UPDATED, before,
+                before.toBuilder().departmentId(toDepartment).build());
+    }
+
+    private static TicketSnapshot snapshot(Long id, Long departmentId) {
+        return TicketSnapshot.builder()
+                .id(id)
+                .title("Ticket " + id)
+                .priority(TicketPriority.MEDIUM)
+                .departmentId(departmentId)
+                .build();
+    }
+
+    private static TicketCommentEvent comment(TicketPriority priority) {
+        return new TicketCommentEvent(CommentChangeType.ADDED, 1L, 10L, 3L, "Looking into it", SUPPORT, null, priority);
+    }
+}
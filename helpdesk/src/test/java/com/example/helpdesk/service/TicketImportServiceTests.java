@@ -0,0 +1,122 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.dto.ImportResultDto;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV import across several small batches: duplicates within the file and against
+ * stored tickets are skipped, keeping the first copy, invalid records are rejected
+ * on their own and everything else is created.
+ */
+@SpringBootTest(properties = "helpdesk.import.batch-size=3")
+@Import(TicketFixtures.class)
+class TicketImportServiceTests {
+
+    @Autowired
+    private TicketImportService importService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    private final String prefix = "import-test-" + System.nanoTime() + "-";
+    private User creator;
+
+    @BeforeEach
+    void seed() {
+        creator = fixtures.seededUser(TicketFixtures.USER);
+        fixtures.save(TicketFixtures.ticket("Previously imported ticket", creator).externalRef(ref("STORED")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tickets WHERE external_ref LIKE ?", prefix + "%");
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void duplicatesAreSkippedAndInvalidRecordsRejectedIndividually() throws Exception {
+        String csv = String.join("\n",
+                "externalRef,title,description,priority,category",
+                ref("1") + ",Printer is offline,Nobody on floor two can print,HIGH,OTHER",
+                ref("2") + ",VPN keeps dropping,Disconnects every ten minutes,MEDIUM,OTHER",
+                ref("1") + ",Printer is offline,Same record exported twice,HIGH,OTHER",
+                ref("STORED") + ",Previously imported ticket,Already in the database,LOW,OTHER",
+                ref("3") + ",\"Laptop, docking station\",\"Screen flickers,\nthen goes black\",LOW,OTHER",
+                ref("2") + ",VPN keeps dropping,Duplicate in a later batch,MEDIUM,OTHER",
+                ref("x".repeat(300)) + ",Reference too long,This reference does not fit the column,LOW,OTHER",
+                ref("4") + ",Bad,Title is shorter than allowed,LOW,OTHER",
+                ref("5") + ",Mailbox is full,Cannot receive any new mail,URGENT,OTHER");
+
+        ImportResultDto result = importService.importTickets(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                TicketImportService.Format.CSV, creator.getId());
+
+        assertThat(result.getReceived()).isEqualTo(9);
+        assertThat(result.getCreated()).isEqualTo(4);
+        assertThat(result.getDuplicates()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(2)
+                .anySatisfy(error -> assertThat(error).startsWith("7: ").contains("255"))
+                .anySatisfy(error -> assertThat(error).startsWith("8: "));
+
+        List<String> stored = ticketRepository.findExistingExternalRefs(
+                List.of(ref("1"), ref("2"), ref("3"), ref("4"), ref("5"), ref("STORED")));
+        assertThat(stored).containsExactlyInAnyOrder(ref("1"), ref("2"), ref("3"), ref("5"), ref("STORED"));
+        assertThat(description(ref("1"))).isEqualTo("Nobody on floor two can print");
+        assertThat(description(ref("2"))).isEqualTo("Disconnects every ten minutes");
+    }
+
+    @Test
+    void copiesOfARecordThatCannotBeSavedAreRejected() throws Exception {
+        String csv = String.join("\n",
+                "externalRef,title,description,priority,category",
+                // PostgreSQL rejects NUL in text, so this one fails only when it is saved
+                ref("A") + ",Printer is offline,Contains a \0 byte,HIGH,OTHER",
+                ref("B") + ",VPN keeps dropping,Disconnects every ten minutes,MEDIUM,OTHER",
+                ref("A") + ",Printer is offline,Nobody on floor two can print,HIGH,OTHER",
+                ref("A") + ",Printer is offline,Exported a third time,HIGH,OTHER");
+
+        ImportResultDto result = importService.importTickets(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                TicketImportService.Format.CSV, creator.getId());
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isZero();
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors())
+                .anySatisfy(error -> assertThat(error).startsWith("1: not saved"))
+                .contains("3: duplicate of record 1, which was not saved",
+                        "4: duplicate of record 1, which was not saved");
+        assertThat(ticketRepository.findExistingExternalRefs(List.of(ref("A"), ref("B")))).containsExactly(ref("B"));
+    }
+
+    private String description(String externalRef) {
+        return jdbcTemplate.queryForObject("SELECT description FROM tickets WHERE external_ref = ?",
+                String.class, externalRef);
+    }
+
+    private String ref(String suffix) {
+        return prefix + suffix;
+    }
+}
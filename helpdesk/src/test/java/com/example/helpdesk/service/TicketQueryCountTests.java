@@ -0,0 +1,96 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.TicketFixtures;
+import com.example.helpdesk.entity.Department;
+import com.example.helpdesk.entity.User;
+import com.example.helpdesk.enums.TicketStatus;
+import com.example.helpdesk.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 loading in ticket listings: the number of statements
+ * needed to render a page must not depend on how many rows the page holds.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@Import(TicketFixtures.class)
+class TicketQueryCountTests {
+
+    private static final int TICKETS = 30;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketFixtures fixtures;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedTickets() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User assignee = fixtures.seededUser(TicketFixtures.AGENT);
+        Department department = departmentRepository.findByName("IT Support").orElse(null);
+
+        // A distinct creator per ticket, so per-row user fetches would show up
+        for (int i = 0; i < TICKETS; i++) {
+            User creator = fixtures.createUser("querycount" + i);
+            fixtures.save(TicketFixtures.ticket("Query count ticket " + i, creator)
+                    .assignedTo(assignee)
+                    .department(department));
+        }
+    }
+
+    @Test
+    void listPageStatementCountIsIndependentOfPageSize() {
+        Consumer<Pageable> listPage = pageable -> ticketService.getAllTicketsPaginated(pageable);
+
+        assertThat(statementsFor(listPage, 25)).isEqualTo(statementsFor(listPage, 2));
+    }
+
+    @Test
+    void searchPageStatementCountIsIndependentOfPageSize() {
+        Consumer<Pageable> searchPage = pageable ->
+                ticketService.searchTicketsPaginated(TicketStatus.OPEN, null, null, "query count", pageable);
+
+        assertThat(statementsFor(searchPage, 25)).isEqualTo(statementsFor(searchPage, 2));
+    }
+
+    @Test
+    void cursorPageStatementCountIsIndependentOfPageSize() {
+        Consumer<Pageable> cursorPage = pageable ->
+                ticketService.getTicketsAfterCursor(null, null, pageable.getPageSize());
+
+        assertThat(statementsFor(cursorPage, 25)).isEqualTo(statementsFor(cursorPage, 2));
+    }
+
+    private long statementsFor(Consumer<Pageable> query, int pageSize) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        query.accept(PageRequest.of(0, pageSize, Sort.by("createdAt").descending()));
+        return statistics.getPrepareStatementCount();
+    }
+}
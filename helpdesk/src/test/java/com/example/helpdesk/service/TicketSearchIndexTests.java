@@ -0,0 +1,82 @@
+package com.example.helpdesk.service;
+
+import com.example.helpdesk.event.CommentChangeType;
+import com.example.helpdesk.event.TicketChangeType;
+import com.example.helpdesk.event.TicketChangedEvent;
+import com.example.helpdesk.event.TicketCommentEvent;
+import com.example.helpdesk.event.TicketSnapshot;
+import com.example.helpdesk.repository.TicketCommentRepository;
+import com.example.helpdesk.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Changes that commit while build() is streaming its snapshot must still end
+ * up in the index once it is ready, and keywords the index cannot tokenize must
+ * be left to the database searches.
+ */
+class TicketSearchIndexTests {
+
+    @Test
+    void changesCommittedDuringBuildAreApplied() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        TicketCommentRepository commentRepository = mock(TicketCommentRepository.class);
+        TicketSearchIndex index = new TicketSearchIndex(ticketRepository, commentRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        when(ticketRepository.streamSearchableText()).thenAnswer(invocation -> {
+            // Both commit after the snapshot below was taken
+            index.onTicketChanged(changed(1L, "Printer jammed", "Printer on floor two jams"));
+            index.onCommentChanged(new TicketCommentEvent(CommentChangeType.ADDED, 2L, 20L, 1L, "VPN token expired",
+                    null, null, null));
+            return Stream.<Object[]>of(
+                    new Object[]{1L, "Printer broken", "Printer on floor two"},
+                    new Object[]{2L, "Cannot connect", "Remote access fails"});
+        });
+        when(commentRepository.streamSearchableText()).thenReturn(Stream.empty());
+
+        assertThat(index.isReady()).isFalse();
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("jammed")).containsExactly(1L);
+        assertThat(index.search("broken")).isEmpty();
+        assertThat(index.search("vpn token")).containsExactly(2L);
+
+        // Once ready, changes are applied directly
+        index.onTicketChanged(changed(2L, "Cannot connect", "Remote access fails after VPN update"));
+        assertThat(index.search("update")).containsExactly(2L);
+    }
+
+    @Test
+    void matchesWholeTokensAndDefersUnindexableKeywords() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        TicketCommentRepository commentRepository = mock(TicketCommentRepository.class);
+        TicketSearchIndex index = new TicketSearchIndex(ticketRepository, commentRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        when(ticketRepository.streamSearchableText()).thenReturn(Stream.empty());
+        when(commentRepository.streamSearchableText()).thenReturn(Stream.empty());
+        index.build();
+
+        index.onTicketChanged(changed(1L, "Printer jammed", "Ticket #7 on floor two"));
+
+        assertThat(index.search("printer")).containsExactly(1L);
+        // Whole tokens only; partial words are left to the LIKE search's substring match
+        assertThat(index.search("print")).isEmpty();
+        // No token of two or more letters or digits: the caller has to fall back
+        assertThat(index.search("a")).isNull();
+        assertThat(index.search("7")).isNull();
+        assertThat(index.search("#-")).isNull();
+    }
+
+    private static TicketChangedEvent changed(Long id, String title, String description) {
+        TicketSnapshot after = TicketSnapshot.builder().id(id).title(title).description(description).build();
+        return new TicketChangedEvent(TicketChangeType.UPDATED, after, after);
+    }
+}